@@ -3,7 +3,9 @@ package capstone.bookitty.domain.bookSimilarity.application;
 import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarity;
 import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarityId;
 import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineSimilarityCalculator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.RatingVector;
 import capstone.bookitty.domain.star.domain.Star;
 import capstone.bookitty.domain.star.repository.StarRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,35 +26,17 @@ public class BookSimilarityService {
     private final StarRepository starRepository;
     private final CosineSimilarityCalculator cosineSimilarityCalculator;
     
-    private static final int MIN_COMMON_USERS = 3;
-    private static final double MIN_SIMILARITY_THRESHOLD = 0.1;
+    public static final int MIN_COMMON_USERS = 3;
+    public static final double MIN_SIMILARITY_THRESHOLD = 0.1;
     
     public BookSimilarity calculateAndSaveSimilarity(String isbn1, String isbn2) {
         // Redis 캐시를 통해 평점 데이터 조회
-        Map<Long, Double> isbn1Ratings = getRatingsMap(isbn1);
-        Map<Long, Double> isbn2Ratings = getRatingsMap(isbn2);
-        
-        Set<Long> commonUsers = isbn1Ratings.keySet().stream()
-                .filter(isbn2Ratings::containsKey)
-                .collect(Collectors.toSet());
-        
-        if (commonUsers.size() < MIN_COMMON_USERS) {
-            deleteSimilarityIfExists(isbn1, isbn2);
-            return null;
-        }
-        
-        double similarity = cosineSimilarityCalculator.calculate(isbn1Ratings, isbn2Ratings, commonUsers);
-        
-        if (Math.abs(similarity) < MIN_SIMILARITY_THRESHOLD) {
-            deleteSimilarityIfExists(isbn1, isbn2);
-            return null;
-        }
-        
-        return saveOrUpdateSimilarity(isbn1, isbn2, similarity);
+        RatingVector isbn1Ratings = RatingVector.from(getRatingsMap(isbn1));
+        return calculateAndSaveSimilarity(isbn1, isbn1Ratings, isbn2, new CosineAccumulator());
     }
     
     public void recalculateSimilarityForBook(String targetIsbn) {
-        Map<Long, Double> targetRatings = getRatingsMap(targetIsbn);
+        RatingVector targetRatings = RatingVector.from(getRatingsMap(targetIsbn));
         
         if (targetRatings.isEmpty()) {
             deleteAllSimilaritiesForBook(targetIsbn);
@@ -65,8 +48,10 @@ public class BookSimilarityService {
                 .filter(isbn -> !isbn.equals(targetIsbn))
                 .collect(Collectors.toList());
         
+        // 대상 책의 정렬 벡터와 accumulator는 한 번만 만들고 모든 쌍에서 재사용
+        CosineAccumulator accumulator = new CosineAccumulator();
         for (String otherIsbn : allOtherIsbns) {
-            calculateAndSaveSimilarity(targetIsbn, otherIsbn);
+            calculateAndSaveSimilarity(targetIsbn, targetRatings, otherIsbn, accumulator);
         }
     }
     
@@ -80,6 +65,28 @@ public class BookSimilarityService {
                 ));
     }
     
+    private BookSimilarity calculateAndSaveSimilarity(String isbn1, RatingVector isbn1Ratings, String isbn2,
+                                                      CosineAccumulator accumulator) {
+        RatingVector isbn2Ratings = RatingVector.from(getRatingsMap(isbn2));
+        
+        // 공통 사용자 탐색과 내적/크기 계산을 한 번의 병합 조인으로 수행
+        cosineSimilarityCalculator.accumulate(isbn1Ratings, isbn2Ratings, accumulator);
+        
+        if (accumulator.getCommonUsers() < MIN_COMMON_USERS) {
+            deleteSimilarityIfExists(isbn1, isbn2);
+            return null;
+        }
+        
+        double similarity = accumulator.similarity();
+        
+        if (Math.abs(similarity) < MIN_SIMILARITY_THRESHOLD) {
+            deleteSimilarityIfExists(isbn1, isbn2);
+            return null;
+        }
+        
+        return saveOrUpdateSimilarity(isbn1, isbn2, similarity);
+    }
+    
     private BookSimilarity saveOrUpdateSimilarity(String isbn1, String isbn2, double similarity) {
         String firstIsbn = isbn1.compareTo(isbn2) < 0 ? isbn1 : isbn2;
         String secondIsbn = isbn1.compareTo(isbn2) < 0 ? isbn2 : isbn1;
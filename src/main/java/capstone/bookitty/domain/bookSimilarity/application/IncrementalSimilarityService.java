@@ -0,0 +1,157 @@
+package capstone.bookitty.domain.bookSimilarity.application;
+
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.bookSimilarity.repository.AppliedStarEventJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineSimilarityCalculator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.RatingVector;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.star.domain.Star;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import capstone.bookitty.domain.star.repository.StarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 평점 변경 한 건을 쌍 통계(book_pair_statistics)에 반영하여 유사도를 갱신합니다.
+ * 변경한 회원이 평가한 다른 책과의 쌍만 보정하므로 비용은 그 회원의 평점 수에 비례합니다.
+ *
+ * 통계 행이 없는 쌍은 두 책의 평점으로 정확히 다시 계산합니다.
+ * 스트림은 같은 이벤트를 두 번 전달할 수 있으므로, 이벤트 ID를 같은 트랜잭션에 기록해 한 번만 반영합니다.
+ *
+ * 다른 책의 평점은 처리 시점의 star가 아니라 이벤트에 실린 변경 시점의 값을 씁니다.
+ * 같은 회원이 A, B를 차례로 바꾸면 A 이벤트는 B의 이전 평점, B 이벤트는 A의 새 평점으로 보정되므로
+ * ISBN별 lane에서 어떤 순서로 처리해도 쌍 (A, B)의 통계가 같아집니다.
+ * 값이 없는 이전 형식의 메시지만 star의 현재 평점을 읽으며, 이때나 같은 회원의 두 변경이 동시에 커밋될 때
+ * 생길 수 있는 오차는 야간 배치가 통계를 덮어써 바로잡습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IncrementalSimilarityService {
+
+    private final StarRepository starRepository;
+    private final BookSimilarityService bookSimilarityService;
+    private final BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository;
+    private final BookSimilarityJdbcRepository bookSimilarityJdbcRepository;
+    private final AppliedStarEventJdbcRepository appliedStarEventJdbcRepository;
+    private final CosineSimilarityCalculator cosineSimilarityCalculator;
+
+    public void applyRatingChange(StarEventMessage message) {
+        String isbn = message.isbn();
+        if (message.eventId() != null && !appliedStarEventJdbcRepository.markApplied(message.eventId())) {
+            log.debug("이미 반영한 평점 이벤트 무시 - ISBN: {}, EventId: {}", isbn, message.eventId());
+            return;
+        }
+
+        Map<String, Double> otherScores = otherScoresOfMember(message);
+        if (otherScores.isEmpty()) {
+            return;
+        }
+
+        Map<String, BookPairStatistics> existing =
+                bookPairStatisticsJdbcRepository.findAllForUpdate(isbn, otherScores.keySet());
+
+        List<BookPairStatistics> changed = new ArrayList<>(otherScores.size());
+        RatingVector changedRatings = null;
+        CosineAccumulator accumulator = new CosineAccumulator();
+
+        for (Map.Entry<String, Double> entry : otherScores.entrySet()) {
+            String otherIsbn = entry.getKey();
+            BookPairStatistics statistics = existing.get(otherIsbn);
+
+            if (statistics != null) {
+                statistics.applyChange(isbn, message.previousScore(), message.currentScore(), entry.getValue());
+            } else {
+                // 기준 통계가 없는 쌍은 현재 평점으로 정확히 계산
+                if (changedRatings == null) {
+                    changedRatings = RatingVector.from(bookSimilarityService.getRatingsMap(isbn));
+                }
+                RatingVector otherRatings = RatingVector.from(bookSimilarityService.getRatingsMap(otherIsbn));
+                cosineSimilarityCalculator.accumulate(changedRatings, otherRatings, accumulator);
+                statistics = BookPairStatistics.of(isbn, otherIsbn, accumulator);
+            }
+            changed.add(statistics);
+        }
+
+        save(changed);
+        log.debug("증분 유사도 갱신 완료 - ISBN: {}, MemberId: {}, 쌍: {}개 (기존 통계: {}개)",
+                isbn, message.memberId(), changed.size(), existing.size());
+    }
+
+    //== private methods ==//
+
+    /**
+     * 변경한 회원이 평가한 다른 책과 그 평점을 구합니다.
+     * 이벤트에 변경 시점의 평점이 실려 있으면 그대로 사용합니다.
+     * 이전 형식의 생성 이벤트는 자신보다 먼저 생성된 평점과의 쌍만 다루어, 같은 회원의 두 생성 이벤트가
+     * 처리 순서와 무관하게 한 번씩만 반영되도록 합니다.
+     */
+    private Map<String, Double> otherScoresOfMember(StarEventMessage message) {
+        if (message.otherScores() != null) {
+            Map<String, Double> otherScores = new HashMap<>(message.otherScores());
+            otherScores.remove(message.isbn());
+            return otherScores;
+        }
+
+        List<Star> stars = starRepository.findByMemberId(message.memberId());
+        Long changedStarId = null;
+        if (message.eventType() == EventType.CREATED) {
+            changedStarId = stars.stream()
+                    .filter(star -> star.getIsbn().equals(message.isbn()))
+                    .map(Star::getId)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        Map<String, Double> otherScores = new HashMap<>();
+        for (Star star : stars) {
+            if (star.getIsbn().equals(message.isbn())) {
+                continue;
+            }
+            if (changedStarId != null && star.getId() > changedStarId) {
+                continue;
+            }
+            otherScores.put(star.getIsbn(), star.getScore());
+        }
+        return otherScores;
+    }
+
+    private void save(List<BookPairStatistics> changed) {
+        List<BookPairStatistics> remaining = new ArrayList<>();
+        List<BookPairStatistics> emptied = new ArrayList<>();
+        List<BookSimilarityResult> retained = new ArrayList<>();
+        List<BookSimilarityResult> dropped = new ArrayList<>();
+
+        for (BookPairStatistics statistics : changed) {
+            if (statistics.isEmpty()) {
+                emptied.add(statistics);
+            } else {
+                remaining.add(statistics);
+            }
+
+            BookSimilarityResult result = BookSimilarityResult.from(statistics);
+            if (statistics.isRetained()) {
+                retained.add(result);
+            } else {
+                dropped.add(result);
+            }
+        }
+
+        bookPairStatisticsJdbcRepository.upsertAll(remaining);
+        bookPairStatisticsJdbcRepository.deleteAll(emptied);
+        bookSimilarityJdbcRepository.upsertAll(retained);
+        bookSimilarityJdbcRepository.deleteAll(dropped);
+    }
+}
@@ -0,0 +1,32 @@
+package capstone.bookitty.domain.bookSimilarity.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쌍 통계에 이미 반영한 평점 이벤트(아웃박스 ID)입니다.
+ * 같은 이벤트가 스트림에 두 번 기록되어도 증분 갱신이 한 번만 적용되도록, 통계 갱신과 같은 트랜잭션에서 기록합니다.
+ * 행은 AppliedStarEventJdbcRepository가 쓰고 지우며, 엔티티는 스키마 정의용입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "applied_star_event",
+        indexes = {
+                @Index(name = "idx_applied_star_event_applied_at", columnList = "applied_at"),
+        }
+)
+public class AppliedStarEvent {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,133 @@
+package capstone.bookitty.domain.bookSimilarity.domain;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.global.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 책 쌍의 코사인 유사도를 다시 계산하지 않고 갱신하기 위한 충분 통계량입니다.
+ * 공통 평가자 기준 내적, 각 책의 평점 제곱합(공통 평가자 한정), 공통 평가자 수를 보관하므로
+ * 평점 하나가 바뀌면 그 회원이 평가한 다른 책과의 쌍만 상수 시간에 보정할 수 있습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(BookSimilarityId.class)
+@Table(
+        name = "book_pair_statistics",
+        indexes = {
+                @Index(name = "idx_pair_statistics_isbn2", columnList = "isbn2"),
+        }
+)
+public class BookPairStatistics extends BaseEntity {
+
+    @Id
+    @Column(length = 13, nullable = false)
+    private String isbn1;
+
+    @Id
+    @Column(length = 13, nullable = false)
+    private String isbn2;
+
+    // JDBC 저장소가 직접 쓰는 컬럼이므로 이름을 명시
+    @Column(name = "dot_product", nullable = false)
+    private double dotProduct;
+
+    @Column(name = "norm_squared1", nullable = false)
+    private double normSquared1;
+
+    @Column(name = "norm_squared2", nullable = false)
+    private double normSquared2;
+
+    @Column(name = "common_users", nullable = false)
+    private int commonUsers;
+
+    @Builder
+    public BookPairStatistics(String isbn1, String isbn2, double dotProduct,
+                              double normSquared1, double normSquared2, int commonUsers) {
+        // isbn1이 isbn2보다 항상 작도록 정렬 (제곱합도 함께 맞바꿈)
+        if (isbn1.compareTo(isbn2) <= 0) {
+            this.isbn1 = isbn1;
+            this.isbn2 = isbn2;
+            this.normSquared1 = normSquared1;
+            this.normSquared2 = normSquared2;
+        } else {
+            this.isbn1 = isbn2;
+            this.isbn2 = isbn1;
+            this.normSquared1 = normSquared2;
+            this.normSquared2 = normSquared1;
+        }
+        this.dotProduct = dotProduct;
+        this.commonUsers = commonUsers;
+    }
+
+    /**
+     * @param isbnA       accumulator의 첫 번째 벡터에 해당하는 책
+     * @param isbnB       accumulator의 두 번째 벡터에 해당하는 책
+     * @param accumulator 두 책의 평점 벡터를 병합 조인한 결과
+     */
+    public static BookPairStatistics of(String isbnA, String isbnB, CosineAccumulator accumulator) {
+        return BookPairStatistics.builder()
+                .isbn1(isbnA)
+                .isbn2(isbnB)
+                .dotProduct(accumulator.getDotProduct())
+                .normSquared1(accumulator.getMagnitude1())
+                .normSquared2(accumulator.getMagnitude2())
+                .commonUsers(accumulator.getCommonUsers())
+                .build();
+    }
+
+    /**
+     * 한 회원의 changedIsbn 평점 변경을 반영합니다. 그 회원의 상대 책 평점은 otherScore입니다.
+     * 생성은 (null → current), 수정은 (previous → current), 삭제는 (previous → null)로 표현합니다.
+     */
+    public void applyChange(String changedIsbn, Double previousScore, Double currentScore, double otherScore) {
+        boolean changedIsFirst = changedIsbn.equals(isbn1);
+
+        if (previousScore != null) {
+            commonUsers--;
+            dotProduct -= previousScore * otherScore;
+            addNormSquared(changedIsFirst, -previousScore * previousScore, -otherScore * otherScore);
+        }
+        if (currentScore != null) {
+            commonUsers++;
+            dotProduct += currentScore * otherScore;
+            addNormSquared(changedIsFirst, currentScore * currentScore, otherScore * otherScore);
+        }
+    }
+
+    public double similarity() {
+        // 누적 오차로 음수가 되는 경우까지 방어
+        if (normSquared1 <= 0.0 || normSquared2 <= 0.0) {
+            return 0.0;
+        }
+        double similarity = dotProduct / (Math.sqrt(normSquared1) * Math.sqrt(normSquared2));
+        return Math.max(-1.0, Math.min(1.0, similarity));
+    }
+
+    public boolean isEmpty() {
+        return commonUsers <= 0;
+    }
+
+    public boolean isRetained() {
+        return commonUsers >= BookSimilarityService.MIN_COMMON_USERS
+                && Math.abs(similarity()) >= BookSimilarityService.MIN_SIMILARITY_THRESHOLD;
+    }
+
+    //== private methods ==//
+
+    private void addNormSquared(boolean changedIsFirst, double changedDelta, double otherDelta) {
+        if (changedIsFirst) {
+            normSquared1 += changedDelta;
+            normSquared2 += otherDelta;
+        } else {
+            normSquared1 += otherDelta;
+            normSquared2 += changedDelta;
+        }
+    }
+}
@@ -14,15 +14,15 @@ import org.springframework.transaction.event.TransactionalEventListener;
 public class BookSimilarityEventListener {
     
     private final CacheManager cacheManager;
-    private final BookSimilarityEventStreamService streamService;
+    private final StarEventStreamPublisher starEventStreamPublisher;
     
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleStarRatingEvent(StarRatingEvent event) {
         // 1. 즉시 캐시 무효화
         evictBookRatingsCache(event.getIsbn());
         
-        // 2. Redis Streams에 이벤트 큐잉 (배치 상태와 무관하게)
-        streamService.addEvent(event);
+        // 2. Redis Streams 기록과 변경 ISBN 기록은 전용 스레드가 모아서 처리 (요청 스레드를 막지 않음)
+        starEventStreamPublisher.publish(event);
     }
     
     private void evictBookRatingsCache(String isbn) {
@@ -1,14 +1,22 @@
 package capstone.bookitty.domain.bookSimilarity.event;
 
 import capstone.bookitty.domain.bookSimilarity.application.BatchStateService;
-import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.application.IncrementalSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventRecord;
+import capstone.bookitty.domain.bookSimilarity.repository.ProcessingPauseRedisRepository;
 import capstone.bookitty.domain.star.config.StarStreamConfig;
-import capstone.bookitty.domain.star.event.StarRatingEvent;
+import capstone.bookitty.domain.star.config.StreamConsumerIdentity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 import org.springframework.data.redis.stream.StreamListener;
@@ -17,13 +25,26 @@ import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.PendingMessage;
 import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
 import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -33,17 +54,59 @@ public class BookSimilarityEventStreamService {
     @Qualifier("redisTemplate")
     private final RedisTemplate<String, Object> redisTemplate;
     @Qualifier("starStreamMessageListenerContainer") 
-    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> listenerContainer;
-    private final BookSimilarityService bookSimilarityService;
+    private final StreamMessageListenerContainer<String, MapRecord<String, byte[], byte[]>> listenerContainer;
+    private final StarEventStreamStore starEventStreamStore;
+    private final IncrementalSimilarityService incrementalSimilarityService;
+    private final SimilarityRecalculationCoalescer similarityRecalculationCoalescer;
+    private final IsbnStripedExecutor isbnStripedExecutor;
+    private final ProcessingPauseRedisRepository processingPauseRedisRepository;
+    private final StreamConsumerIdentity streamConsumerIdentity;
+    private final MeterRegistry meterRegistry;
 
+    // 쌍 통계 기반 증분 갱신 사용 여부 (false면 이벤트마다 전체 재계산)
+    @Value("${similarity.stream.incremental.enabled:true}")
+    private boolean incrementalEnabled;
+
+    // true면 리스너 컨테이너 대신 StarStreamBatchConsumer가 여러 건씩 읽어 처리
+    @Value("${similarity.stream.batch.enabled:true}")
+    private boolean batchConsumerEnabled;
+
+    @Value("${similarity.stream.replay.batch-size:500}")
+    private int replayBatchSize;
+
+    // 배치를 실행하던 인스턴스가 완료 이벤트 없이 죽어도 처리가 재개되도록 두는 플래그 수명
+    @Value("${similarity.stream.pause.ttl-ms:14400000}")
+    private long pauseTtlMillis;
+
+    // 이 인스턴스가 실행한 배치로 인한 중단
     private volatile boolean pauseProcessing = false;
+    // 다른 인스턴스가 실행 중인 배치로 인한 중단 (Redis 플래그를 주기적으로 확인)
+    private volatile boolean clusterPaused = false;
+
+    // 배치 실행 중 ACK하지 않고 미뤄 둔 메시지 수 (배치 완료 후 재처리)
+    private final AtomicLong replayBacklog = new AtomicLong();
+    // 배치 consumer 모드는 배치 중 읽기를 멈추므로, 그룹 lag + 이 인스턴스 consumer의 pending으로 대신 집계
+    private final AtomicLong streamBacklog = new AtomicLong();
+
+    private Timer incrementalTimer;
+    private Timer incrementalEndToEndTimer;
 
     @PostConstruct
     public void startStreamListener() {
+        Gauge.builder("similarity.stream.replay.backlog", this,
+                        service -> service.batchConsumerEnabled ? service.streamBacklog.get() : service.replayBacklog.get())
+                .description("처리를 기다리는 메시지 수 (리스너 모드: 배치 중 미뤄 둔 메시지, 배치 consumer 모드: 그룹 lag + 자신의 pending)")
+                .register(meterRegistry);
+        incrementalTimer = StarStreamMetrics.processingTimer(meterRegistry, StarStreamMetrics.INCREMENTAL_PATH);
+        incrementalEndToEndTimer = StarStreamMetrics.endToEndTimer(meterRegistry, StarStreamMetrics.INCREMENTAL_PATH);
         try {
             // 기존 pending 메시지 처리
-            processPendingMessages();
-            
+            replayPendingMessages();
+            if (batchConsumerEnabled) {
+                log.info("Redis Streams 배치 consumer 모드 - 리스너 컨테이너를 사용하지 않습니다.");
+                return;
+            }
+
             // Redis Streams Consumer 등록
             registerStreamListener();
             listenerContainer.start();
@@ -55,96 +118,71 @@ public class BookSimilarityEventStreamService {
         }
     }
 
-    // EventListener에서 호출되어 Stream에 이벤트 추가
-    public void addEvent(StarRatingEvent event) {
-        // ISBN 검증
-        if (!StringUtils.hasText(event.getIsbn())) {
-            log.error("ISBN이 null 또는 비어있는 이벤트 무시 - MemberId: {}, EventType: {}", 
-                event.getMemberId(), event.getEventType());
-            return;
-        }
-        
-        int retryCount = 0;
-        int maxRetries = 3;
-        
-        while (retryCount < maxRetries) {
-            try {
-                Map<String, String> eventData = Map.of(
-                        "isbn", event.getIsbn(),
-                        "memberId", String.valueOf(event.getMemberId()),
-                        "currentScore", event.getCurrentScore() != null ? String.valueOf(event.getCurrentScore()) : "",
-                        "eventType", event.getEventType().name(),
-                        "timestamp", String.valueOf(System.currentTimeMillis())
-                );
-
-                redisTemplate.opsForStream().add(StarStreamConfig.STAR_EVENTS_STREAM, eventData);
-                log.debug("Redis Streams에 이벤트 추가: {}", event.getIsbn());
-                return;
-
-            } catch (Exception e) {
-                retryCount++;
-                log.warn("Redis Streams 이벤트 추가 실패 (시도 {}/{}): {}", retryCount, maxRetries, event.getIsbn(), e);
-                
-                if (retryCount >= maxRetries) {
-                    log.error("Redis Streams 이벤트 추가 최종 실패: {}", event.getIsbn(), e);
-                } else {
-                    try {
-                        Thread.sleep(100L * retryCount); // 점진적 백오프
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
-    // Stream에서 이벤트를 받아서 처리
+    // 인스턴스의 consumer마다 구독을 등록하여 그룹 안에서 메시지를 나누어 처리
     private void registerStreamListener() {
-        StreamListener<String, MapRecord<String, String, String>> listener = message -> {
-            log.info("Redis Streams 메시지 수신: {}", message.getId());
-            try {
-                if (pauseProcessing) {
-                    log.debug("배치 실행 중 - 이벤트 처리 일시 중단: {}", message.getId());
-                    return;
-                }
-                
-                // 메시지에서 ISBN 추출하여 유사도 계산
-                Map<String, String> values = message.getValue();
-                String isbn = values.get("isbn");
-                log.info("처리할 ISBN: {}, 전체 메시지: {}", isbn, values);
-                
-                if (StringUtils.hasText(isbn)) {
-                    log.info("유사도 계산 시작: {}", isbn);
-                    bookSimilarityService.recalculateSimilarityForBook(isbn);
-                    log.info("유사도 계산 완료: {}", isbn);
-                } else {
-                    log.warn("ISBN이 없는 이벤트 수신: {}, values: {}", message.getId(), values);
-                }
-                
-            } catch (Exception e) {
-                log.error("Stream 이벤트 처리 실패: {}", message.getId(), e);
-                // 처리 실패한 메시지도 ACK 처리하여 무한 재시도 방지
+        StreamListener<String, MapRecord<String, byte[], byte[]>> listener = message -> {
+            log.debug("Redis Streams 메시지 수신: {}", message.getId());
+            if (isProcessingPaused()) {
+                // ACK하지 않으므로 pending으로 남아 배치 완료 시 한꺼번에 재처리됨
+                replayBacklog.incrementAndGet();
+                log.debug("배치 실행 중 - 이벤트 처리 연기: {}", message.getId());
+                return;
             }
+            processBatch(List.of(starEventStreamStore.decode(message.getId(), message.getValue())));
         };
-        
+
         try {
-            // Consumer 등록
-            Consumer consumer = Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, StarStreamConfig.SIMILARITY_CONSUMER_NAME);
-            StreamOffset<String> offset = StreamOffset.create(StarStreamConfig.STAR_EVENTS_STREAM, org.springframework.data.redis.connection.stream.ReadOffset.from(">"));
-            
-            listenerContainer.receive(consumer, offset, listener);
-            log.info("Redis Streams Consumer 등록 완료");
+            StreamOffset<String> offset = StreamOffset.create(StarStreamConfig.STAR_EVENTS_STREAM, ReadOffset.lastConsumed());
+            for (String consumerName : streamConsumerIdentity.consumerNames()) {
+                Consumer consumer = Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumerName);
+                listenerContainer.receive(consumer, offset, listener);
+            }
+            log.info("Redis Streams Consumer 등록 완료: {}", streamConsumerIdentity.consumerNames());
         } catch (Exception e) {
             log.error("Redis Streams Consumer 등록 실패", e);
             throw e;
         }
     }
 
-    // 배치 시작 이벤트 수신
+    /**
+     * 다른 consumer에게서 회수한 메시지를 처리합니다. 처리한 메시지는 성공 여부와 무관하게 ACK합니다.
+     * 같은 메시지를 다시 회수하지 않도록 처리와 ACK가 끝날 때까지 기다립니다.
+     *
+     * @return 처리한 메시지 수
+     */
+    public int processClaimedMessages(List<StarEventRecord> messages) {
+        awaitQuietly(dispatch(messages));
+        return messages.size();
+    }
+
+    /**
+     * XREADGROUP 한 번으로 읽은 메시지를 ISBN별 lane에 나누어 처리하고, 모두 끝나면 한 번의 XACK로 확인합니다.
+     * 호출 스레드는 lane 큐에 자리가 없을 때만 기다리며, 처리 완료를 기다리지 않습니다.
+     *
+     * @return 처리를 맡긴 메시지 수
+     */
+    public int processBatch(List<StarEventRecord> messages) {
+        dispatch(messages);
+        return messages.size();
+    }
+
+    /**
+     * 이 인스턴스나 다른 인스턴스에서 야간 배치가 실행 중이면 true입니다.
+     * 메시지마다 Redis를 조회하지 않도록 클러스터 플래그는 refreshClusterPause가 주기적으로 읽어 둡니다.
+     */
+    public boolean isProcessingPaused() {
+        return pauseProcessing || clusterPaused;
+    }
+
+    // 배치 시작 이벤트 수신 - 다른 인스턴스도 멈추도록 Redis 플래그를 먼저 기록
     @EventListener
     public void onBatchStarted(BatchStateService.BatchStartEvent event) {
         pauseProcessing = true;
+        try {
+            processingPauseRedisRepository.pause(streamConsumerIdentity.instanceId(), Duration.ofMillis(pauseTtlMillis));
+        } catch (Exception e) {
+            log.error("배치 중단 플래그 기록 실패 - 다른 인스턴스는 이벤트 처리를 계속합니다.", e);
+        }
         log.info("배치 시작 감지 - 이벤트 처리 일시 중단");
     }
 
@@ -152,70 +190,205 @@ public class BookSimilarityEventStreamService {
     @EventListener
     @Async
     public void onBatchCompleted(BatchStateService.BatchCompletionEvent event) {
+        try {
+            processingPauseRedisRepository.resume();
+        } catch (Exception e) {
+            log.error("배치 중단 플래그 해제 실패 - TTL이 지나면 다른 인스턴스도 재개됩니다.", e);
+        }
+        clusterPaused = false;
         pauseProcessing = false;
-        log.info("배치 완료 감지 - 이벤트 처리 재개");
-        // 필요 시 대기 중인 이벤트들 재처리 로직 추가
+        log.info("배치 완료 감지 - 이벤트 처리 재개 (미뤄 둔 메시지: {}개)", replayBacklog.get());
+        // 배치 중 ACK하지 않고 남겨 둔 메시지를 ISBN별로 합쳐 재처리
+        replayPendingMessages();
     }
-    
-    private void processPendingMessages() {
+
+    /**
+     * 배치 consumer 모드의 backlog를 갱신합니다. 아직 그룹에 전달되지 않은 메시지 수(XINFO GROUPS의 lag)와
+     * 이 인스턴스의 consumer가 받아 두고 ACK하지 않은 메시지 수를 더합니다.
+     * lag은 Redis 7 이상에서만 제공되며, 없으면 pending만 집계합니다.
+     */
+    @Scheduled(fixedDelayString = "${similarity.stream.backlog.refresh-ms:10000}")
+    public void refreshStreamBacklog() {
+        if (!batchConsumerEnabled) {
+            return;
+        }
+        try {
+            long lag = redisTemplate.opsForStream().groups(StarStreamConfig.STAR_EVENTS_STREAM).stream()
+                    .filter(group -> StarStreamConfig.SIMILARITY_CONSUMER_GROUP.equals(group.groupName()))
+                    .map(group -> group.getRaw().get("lag"))
+                    .filter(value -> value instanceof Number)
+                    .mapToLong(value -> ((Number) value).longValue())
+                    .sum();
+            long ownPending = redisTemplate.opsForStream()
+                    .consumers(StarStreamConfig.STAR_EVENTS_STREAM, StarStreamConfig.SIMILARITY_CONSUMER_GROUP).stream()
+                    .filter(consumer -> streamConsumerIdentity.isOwn(consumer.consumerName()))
+                    .mapToLong(StreamInfo.XInfoConsumer::pendingCount)
+                    .sum();
+            streamBacklog.set(lag + ownPending);
+        } catch (Exception e) {
+            log.debug("Stream backlog 조회 실패", e);
+        }
+    }
+
+    /**
+     * 다른 인스턴스가 기록한 배치 중단 플래그를 읽어 둡니다.
+     * 플래그가 사라지면 이 인스턴스가 미뤄 둔 메시지를 재처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${similarity.stream.pause.check-interval-ms:1000}")
+    public void refreshClusterPause() {
+        boolean paused;
         try {
-            Consumer consumer = Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, StarStreamConfig.SIMILARITY_CONSUMER_NAME);
-            
-            // 현재 consumer의 pending 메시지 확인
-            PendingMessages pendingMessages = redisTemplate.opsForStream()
-                    .pending(StarStreamConfig.STAR_EVENTS_STREAM, consumer);
-            
-            if (pendingMessages.size() > 0) {
-                log.info("처리 대기 중인 메시지 {}개 발견, 처리 시작", pendingMessages.size());
-                
-                // 현재 consumer의 pending 메시지들을 claim하여 처리
-                RecordId[] recordIds = pendingMessages.stream()
-                        .map(pm -> RecordId.of(pm.getIdAsString()))
+            paused = processingPauseRedisRepository.isPaused();
+        } catch (Exception e) {
+            // Redis를 읽지 못하면 스트림도 읽을 수 없으므로 마지막 상태 유지
+            log.debug("배치 중단 플래그 조회 실패", e);
+            return;
+        }
+
+        boolean wasPaused = clusterPaused;
+        clusterPaused = paused;
+        if (paused && !wasPaused) {
+            log.info("다른 인스턴스의 배치 실행 감지 - 이벤트 처리 일시 중단");
+        } else if (!paused && wasPaused && !pauseProcessing) {
+            log.info("다른 인스턴스의 배치 완료 감지 - 이벤트 처리 재개 (미뤄 둔 메시지: {}개)", replayBacklog.get());
+            replayPendingMessages();
+        }
+    }
+    
+    /**
+     * 이 인스턴스의 consumer가 받아 두고 ACK하지 못한 메시지(재시작 전 처리 중이던 메시지,
+     * 배치 실행 중 미뤄 둔 메시지)를 replay-batch-size 건씩 다시 가져와 한꺼번에 처리합니다.
+     * 같은 ISBN의 재계산은 배치 안에서 하나로 합쳐집니다.
+     */
+    private void replayPendingMessages() {
+        int replayed = 0;
+        for (String consumerName : streamConsumerIdentity.consumerNames()) {
+            try {
+                replayed += replayPendingMessages(consumerName);
+            } catch (Exception e) {
+                log.error("Pending 메시지 재처리 중 오류 - Consumer: {}", consumerName, e);
+            }
+        }
+        replayBacklog.set(0);
+        log.info("Pending 메시지 재처리 완료: {}개", replayed);
+    }
+
+    private int replayPendingMessages(String consumerName) {
+        Consumer consumer = Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumerName);
+        int replayed = 0;
+
+        while (!isProcessingPaused()) {
+            PendingMessages pendingMessages = redisTemplate.opsForStream().pending(
+                    StarStreamConfig.STAR_EVENTS_STREAM, consumer, Range.unbounded(), replayBatchSize);
+            if (pendingMessages.isEmpty()) {
+                break;
+            }
+
+            RecordId[] recordIds = pendingMessages.stream()
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            // 자신의 메시지이므로 즉시 claim
+            List<StarEventRecord> claimedMessages = starEventStreamStore.claim(consumerName, Duration.ZERO, recordIds);
+
+            replayed += processClaimedMessages(claimedMessages);
+            replayBacklog.addAndGet(-claimedMessages.size());
+
+            // 트리밍으로 본문이 사라진 항목은 claim되지 않으므로 ACK하여 PEL에서 제거
+            if (claimedMessages.size() < recordIds.length) {
+                Set<RecordId> claimedIds = claimedMessages.stream().map(StarEventRecord::id).collect(Collectors.toSet());
+                RecordId[] missingIds = Arrays.stream(recordIds)
+                        .filter(id -> !claimedIds.contains(id))
                         .toArray(RecordId[]::new);
-                        
-                List<MapRecord<String, Object, Object>> claimedMessages = redisTemplate.opsForStream()
-                        .claim(StarStreamConfig.STAR_EVENTS_STREAM,
-                                StarStreamConfig.SIMILARITY_CONSUMER_GROUP,
-                                StarStreamConfig.SIMILARITY_CONSUMER_NAME,
-                                java.time.Duration.ofSeconds(0), // 즉시 claim
-                                recordIds);
-                
-                for (MapRecord<String, Object, Object> message : claimedMessages) {
-                    try {
-                        Object isbnObj = message.getValue().get("isbn");
-                        String isbn = isbnObj != null ? isbnObj.toString() : null;
-                        if (StringUtils.hasText(isbn)) {
-                            log.info("Pending 메시지 처리 시작: {}, ISBN: {}", message.getId(), isbn);
-                            bookSimilarityService.recalculateSimilarityForBook(isbn);
-                            log.info("Pending 메시지 처리 완료: {}", message.getId());
-                        }
-                        
-                        // 처리 완료된 메시지 ACK
-                        redisTemplate.opsForStream().acknowledge(
-                                StarStreamConfig.STAR_EVENTS_STREAM,
-                                StarStreamConfig.SIMILARITY_CONSUMER_GROUP,
-                                message.getId());
-                        
-                    } catch (Exception e) {
-                        log.error("Pending 메시지 처리 실패: {}", message.getId(), e);
-                        // 실패한 메시지도 ACK 처리 (무한 재시도 방지)
-                        redisTemplate.opsForStream().acknowledge(
-                                StarStreamConfig.STAR_EVENTS_STREAM,
-                                StarStreamConfig.SIMILARITY_CONSUMER_GROUP,
-                                message.getId());
+                acknowledge(missingIds);
+                log.warn("본문이 없는 pending 메시지 {}개 ACK - Consumer: {}", missingIds.length, consumerName);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * 메시지를 ISBN별로 묶어 lane에 넘기고, 모든 묶음이 끝나면 전체 ID를 ACK합니다.
+     * 전체 재계산 메시지는 묶음 안에서 하나로 합친 뒤 재계산 Coalescer에 넘깁니다.
+     */
+    private CompletableFuture<Void> dispatch(List<StarEventRecord> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Map<String, List<StarEventMessage>> messagesByIsbn = new LinkedHashMap<>();
+        for (StarEventRecord record : messages) {
+            StarEventMessage message = record.message();
+            if (message == null || !StringUtils.hasText(message.isbn())) {
+                log.warn("ISBN이 없는 이벤트 수신: {}", record.id());
+                continue;
+            }
+            messagesByIsbn.computeIfAbsent(message.isbn(), isbn -> new ArrayList<>()).add(message);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(messagesByIsbn.size());
+        messagesByIsbn.forEach((isbn, isbnMessages) ->
+                futures.add(isbnStripedExecutor.submit(isbn, () -> processInOrder(isbn, isbnMessages))));
+
+        // 처리 실패한 메시지도 ACK 처리하여 무한 재시도 방지
+        RecordId[] recordIds = messages.stream().map(StarEventRecord::id).toArray(RecordId[]::new);
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((result, e) -> acknowledge(recordIds));
+    }
+
+    // lane 스레드에서 한 ISBN의 메시지를 들어온 순서대로 처리
+    private void processInOrder(String isbn, List<StarEventMessage> messages) {
+        int recalculations = 0;
+        long oldestTimestamp = Long.MAX_VALUE;
+        for (StarEventMessage message : messages) {
+            try {
+                if (supportsIncrementalUpdate(message)) {
+                    applyIncrementally(message);
+                } else {
+                    recalculations++;
+                    if (message.timestamp() > 0) {
+                        oldestTimestamp = Math.min(oldestTimestamp, message.timestamp());
                     }
                 }
-                
-                log.info("Pending 메시지 처리 완료: {}개", claimedMessages.size());
-            } else {
-                log.info("처리 대기 중인 메시지 없음");
+            } catch (Exception e) {
+                log.error("Stream 이벤트 처리 실패: {} (memberId: {})", isbn, message.memberId(), e);
             }
-            
+        }
+        if (recalculations > 0) {
+            similarityRecalculationCoalescer.submit(isbn, recalculations,
+                    oldestTimestamp == Long.MAX_VALUE ? 0L : oldestTimestamp);
+        }
+    }
+
+    private void awaitQuietly(CompletableFuture<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            // ACK되지 않은 메시지는 pending으로 남아 다음 재처리에서 다시 처리됨
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Stream 이벤트 처리 실패", e.getCause());
+        }
+    }
+
+    private void acknowledge(RecordId... recordIds) {
+        try {
+            starEventStreamStore.acknowledge(recordIds);
         } catch (Exception e) {
-            log.error("Pending 메시지 처리 중 오류", e);
+            log.warn("Stream 메시지 ACK 실패: {}개", recordIds.length, e);
         }
     }
-    
+
+    private void applyIncrementally(StarEventMessage message) {
+        long startTime = System.nanoTime();
+        incrementalSimilarityService.applyRatingChange(message);
+        incrementalTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        StarStreamMetrics.recordEndToEnd(incrementalEndToEndTimer, message.timestamp());
+    }
+
+    private boolean supportsIncrementalUpdate(StarEventMessage message) {
+        return incrementalEnabled && message.supportsIncrementalUpdate();
+    }
+
     private void scheduleRestart() {
         // 간단한 재시작 로직 - 실제 환경에서는 더 정교한 백오프 전략 사용
         try {
@@ -0,0 +1,100 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISBN을 해시하여 스레드 하나짜리 lane 중 하나에서 실행합니다.
+ * 같은 책의 이벤트는 항상 같은 lane에서 들어온 순서대로 처리되고, 다른 책은 lane 수만큼 병렬로 처리됩니다.
+ * lane의 큐가 가득 차면 제출한 스레드(스트림 poller)가 자리가 날 때까지 기다리므로 더 읽어 오지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IsbnStripedExecutor {
+
+    // 큐에 자리가 날 때까지 제출 스레드를 막아 poller에 역압을 전달
+    private static final RejectedExecutionHandler BLOCK_CALLER = (runnable, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Similarity lane is shut down");
+        }
+        try {
+            executor.getQueue().put(runnable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a similarity lane", e);
+        }
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${similarity.stream.lanes:4}")
+    private int laneCount;
+
+    @Value("${similarity.stream.lane-queue-capacity:256}")
+    private int queueCapacity;
+
+    private final List<ExecutorService> lanes = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (int k = 0; k < Math.max(1, laneCount); k++) {
+            String name = "similarity-lane-" + k;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    BLOCK_CALLER);
+            lanes.add(ExecutorServiceMetrics.monitor(meterRegistry, lane, name));
+        }
+        log.info("ISBN별 처리 lane 준비 완료 - lane: {}개, 큐 용량: {}", lanes.size(), queueCapacity);
+    }
+
+    /**
+     * isbn의 lane에서 task를 실행합니다. 큐가 가득 차면 자리가 날 때까지 호출 스레드가 기다립니다.
+     *
+     * @return task가 끝나면 완료되는 future (task의 예외로 예외 완료됨)
+     */
+    public CompletableFuture<Void> submit(String isbn, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes.get(laneOf(isbn, lanes.size())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(ExecutorService::shutdown);
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    // 같은 ISBN은 항상 같은 lane
+    static int laneOf(String isbn, int laneCount) {
+        return Math.floorMod(isbn.hashCode(), laneCount);
+    }
+}
@@ -0,0 +1,174 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 ISBN의 전체 재계산 요청을 window 동안 모아 한 번만 실행합니다.
+ * 첫 요청이 window 뒤의 재계산을 예약하고, 그 사이의 요청은 예약된 재계산에 합쳐집니다.
+ * 재계산을 시작하기 전에 예약을 지우므로, 재계산 도중 들어온 요청은 다음 window로 다시 예약되어 누락되지 않습니다.
+ *
+ * 예약 스레드는 시간만 재고, 재계산은 그 ISBN의 lane(IsbnStripedExecutor)에서 실행합니다.
+ * 따라서 같은 책의 증분 갱신과 재계산이 동시에 실행되지 않고 lane에 들어온 순서대로 처리됩니다.
+ *
+ * 종료 시 예약된 재계산은 버려지지만, 변경 ISBN은 이미 기록되어 있어 야간 배치가 반영합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarityRecalculationCoalescer {
+
+    private final BookSimilarityService bookSimilarityService;
+    private final IsbnStripedExecutor isbnStripedExecutor;
+    private final MeterRegistry meterRegistry;
+
+    // 0이면 합치지 않고 요청 스레드(이미 해당 ISBN의 lane)에서 바로 재계산
+    @Value("${similarity.stream.coalesce.window-ms:2000}")
+    private long windowMillis;
+
+    // window를 재는 예약 스레드 수 (재계산은 lane에서 실행)
+    @Value("${similarity.stream.coalesce.threads:2}")
+    private int threads;
+
+    // ISBN → 이번 window에 합쳐진 요청
+    private final Map<String, PendingRecalculation> pending = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private Counter requestedCounter;
+    private Counter coalescedCounter;
+    private Counter recalculatedCounter;
+    private Timer processingTimer;
+    private Timer endToEndTimer;
+
+    @PostConstruct
+    public void init() {
+        scheduler = new ScheduledThreadPoolExecutor(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "similarity-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        requestedCounter = Counter.builder("similarity.recalculation.requested")
+                .description("전체 재계산 요청 수")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("similarity.recalculation.coalesced")
+                .description("앞선 요청에 합쳐져 생략된 재계산 수")
+                .register(meterRegistry);
+        recalculatedCounter = Counter.builder("similarity.recalculation.executed")
+                .description("실제로 실행된 재계산 수")
+                .register(meterRegistry);
+        Gauge.builder("similarity.recalculation.pending", pending, Map::size)
+                .description("재계산이 예약된 ISBN 수")
+                .register(meterRegistry);
+        processingTimer = StarStreamMetrics.processingTimer(meterRegistry, StarStreamMetrics.RECALCULATE_PATH);
+        endToEndTimer = StarStreamMetrics.endToEndTimer(meterRegistry, StarStreamMetrics.RECALCULATE_PATH);
+    }
+
+    public void submit(String isbn) {
+        submit(isbn, 1, 0L);
+    }
+
+    /**
+     * @param requests             호출 측에서 이미 하나로 합친 요청 수 (배치 consumer가 같은 ISBN을 모아 넘김)
+     * @param oldestEventTimestamp 합친 요청 중 가장 오래된 이벤트 시각(ms), 모르면 0
+     */
+    public void submit(String isbn, int requests, long oldestEventTimestamp) {
+        requestedCounter.increment(requests);
+        if (windowMillis <= 0) {
+            // 호출 측에서 합친 요청 중 하나만 실행
+            coalescedCounter.increment(requests - 1);
+            recalculate(isbn, new PendingRecalculation(requests, oldestEventTimestamp));
+            return;
+        }
+
+        PendingRecalculation existing = pending.putIfAbsent(isbn, new PendingRecalculation(requests, oldestEventTimestamp));
+        if (existing != null) {
+            // 이미 예약된 재계산에 모두 합쳐짐
+            existing.merge(requests, oldestEventTimestamp);
+            coalescedCounter.increment(requests);
+            return;
+        }
+        // 새로 예약하는 재계산이 하나를 실행
+        coalescedCounter.increment(requests - 1);
+        scheduler.schedule(() -> dispatch(isbn), windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (!pending.isEmpty()) {
+            log.info("예약된 유사도 재계산 {}건을 버리고 종료합니다. (야간 배치에서 반영)", pending.size());
+        }
+    }
+
+    //== private methods ==//
+
+    // window가 끝나면 재계산을 ISBN의 lane 큐 뒤에 넣음 (lane 큐가 가득 차면 자리가 날 때까지 기다림)
+    private void dispatch(String isbn) {
+        try {
+            isbnStripedExecutor.submit(isbn, () -> flush(isbn));
+        } catch (RejectedExecutionException e) {
+            log.info("lane이 종료되어 예약된 유사도 재계산을 버립니다: {} (야간 배치에서 반영)", isbn);
+        }
+    }
+
+    private void flush(String isbn) {
+        PendingRecalculation recalculation = pending.remove(isbn);
+        recalculate(isbn, recalculation != null ? recalculation : new PendingRecalculation(1, 0L));
+    }
+
+    private void recalculate(String isbn, PendingRecalculation recalculation) {
+        long startTime = System.nanoTime();
+        try {
+            bookSimilarityService.recalculateSimilarityForBook(isbn);
+            recalculatedCounter.increment();
+            processingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            StarStreamMetrics.recordEndToEnd(endToEndTimer, recalculation.oldestEventTimestamp.get());
+            log.debug("유사도 재계산 완료: {} (합쳐진 요청: {}건)", isbn, recalculation.requests.get());
+        } catch (Exception e) {
+            log.error("유사도 재계산 실패: {} (합쳐진 요청: {}건)", isbn, recalculation.requests.get(), e);
+        }
+    }
+
+    private static final class PendingRecalculation {
+
+        private final AtomicInteger requests;
+        // 0은 시각을 모르는 요청
+        private final AtomicLong oldestEventTimestamp;
+
+        private PendingRecalculation(int requests, long eventTimestamp) {
+            this.requests = new AtomicInteger(requests);
+            this.oldestEventTimestamp = new AtomicLong(eventTimestamp);
+        }
+
+        private void merge(int requests, long eventTimestamp) {
+            this.requests.addAndGet(requests);
+            if (eventTimestamp > 0) {
+                oldestEventTimestamp.accumulateAndGet(eventTimestamp,
+                        (current, added) -> current == 0 ? added : Math.min(current, added));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventCodec;
+import capstone.bookitty.domain.bookSimilarity.repository.AppliedStarEventJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StarEventStreamPublisher가 전달하지 못한 아웃박스 행(큐에서 버려졌거나, Redis 장애 중이었거나, 전달 전에 종료된 경우)을
+ * 주기적으로 star-events 스트림에 다시 기록합니다.
+ *
+ * min-age보다 오래된 행만 batch-size 건씩 잠가 가져오고, XADD 파이프라인이 성공한 뒤 같은 트랜잭션에서 삭제합니다.
+ * 기록 후 삭제 전에 실패하면 다음 주기에 다시 기록되므로 전달은 최소 한 번(at-least-once)입니다.
+ * Redis가 복구되면 다음 주기부터 쌓인 행을 순서대로 비우므로, 유실 없이 interval × (쌓인 행 / batch-size) 안에 따라잡습니다.
+ * 중복 기록된 이벤트는 소비자가 이벤트 ID(applied_star_event)로 걸러내며, 그 기록은 retention이 지나면 지웁니다.
+ *
+ * 인코딩할 수 없는 행은 묶음 전체를 막지 않도록 기록하지 않고 삭제합니다. 그 ISBN은 변경 ISBN으로 기록되므로
+ * 다음 야간 배치가 다시 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarEventOutboxRelay {
+
+    private final StarEventOutboxJdbcRepository starEventOutboxJdbcRepository;
+    private final AppliedStarEventJdbcRepository appliedStarEventJdbcRepository;
+    private final StarEventStreamStore starEventStreamStore;
+    private final DirtyIsbnRedisRepository dirtyIsbnRedisRepository;
+    private final PlatformTransactionManager dataTransactionManager;
+    private final MeterRegistry meterRegistry;
+
+    // 정상 경로(StarEventStreamPublisher)가 먼저 전달할 수 있도록 기다리는 시간
+    @Value("${similarity.outbox.relay.min-age-ms:10000}")
+    private long minAgeMillis;
+
+    @Value("${similarity.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    // 한 주기에 처리할 최대 묶음 수 (한 번에 너무 오래 잡고 있지 않도록)
+    @Value("${similarity.outbox.relay.max-batches:20}")
+    private int maxBatches;
+
+    // 같은 이벤트가 다시 전달될 수 있는 기간보다 길게 (스트림 보관 기간 + 배치 중 보류 시간)
+    @Value("${similarity.outbox.applied.retention-hours:48}")
+    private long appliedRetentionHours;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter relayedCounter;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(dataTransactionManager);
+        relayedCounter = Counter.builder("similarity.outbox.relayed")
+                .description("아웃박스에서 릴레이로 다시 기록한 평점 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("similarity.outbox.backlog", backlog, AtomicLong::get)
+                .description("아직 스트림에 기록되지 않은 아웃박스 행 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${similarity.outbox.relay.interval-ms:5000}",
+            initialDelayString = "${similarity.outbox.relay.interval-ms:5000}")
+    public void relay() {
+        try {
+            int relayed = 0;
+            for (int k = 0; k < Math.max(1, maxBatches); k++) {
+                Integer count = transactionTemplate.execute(status -> relayBatch());
+                relayed += count == null ? 0 : count;
+                if (count == null || count < batchSize) {
+                    break;
+                }
+            }
+            backlog.set(starEventOutboxJdbcRepository.count());
+
+            if (relayed > 0) {
+                log.info("아웃박스 평점 이벤트 릴레이 완료: {}건 (남은 행: {}건)", relayed, backlog.get());
+            }
+        } catch (Exception e) {
+            log.warn("아웃박스 평점 이벤트 릴레이 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    // 반영 기록은 중복 전달을 걸러내는 데만 쓰므로 retention이 지난 행은 지움
+    @Scheduled(cron = "${similarity.outbox.applied.purge-cron:0 30 * * * *}")
+    public void purgeAppliedEvents() {
+        try {
+            Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(appliedRetentionHours));
+            int deleted = appliedStarEventJdbcRepository.deleteAppliedBefore(cutoff);
+            if (deleted > 0) {
+                log.info("반영 완료 평점 이벤트 기록 정리: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("반영 완료 평점 이벤트 기록 정리 실패 - 다음 주기에 재시도", e);
+        }
+    }
+
+    //== private methods ==//
+
+    private int relayBatch() {
+        Timestamp occurredBefore = new Timestamp(System.currentTimeMillis() - minAgeMillis);
+        List<OutboxEvent> events = starEventOutboxJdbcRepository.findRelayableForUpdate(occurredBefore, batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> isbns = new LinkedHashSet<>();
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            isbns.add(event.message().isbn());
+            try {
+                payloads.add(StarEventCodec.encode(event.message()));
+            } catch (RuntimeException e) {
+                log.error("인코딩할 수 없는 아웃박스 행 삭제 - ID: {}, ISBN: {} (야간 배치가 반영)",
+                        event.id(), event.message().isbn(), e);
+            }
+        }
+
+        dirtyIsbnRedisRepository.markAll(isbns);
+        starEventStreamStore.appendEncoded(payloads);
+        starEventOutboxJdbcRepository.deleteAll(events.stream().map(OutboxEvent::id).toList());
+
+        relayedCounter.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,291 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventCodec;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository;
+import capstone.bookitty.domain.star.event.StarRatingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 평점 이벤트를 요청 스레드에서 메모리 큐에 넣기만 하고, 전용 스레드가 모아서 Redis에 기록합니다.
+ * 한 번에 batch-size 건까지 XADD를 파이프라인으로 보내고 변경 ISBN도 ZADD 한 번으로 기록합니다.
+ *
+ * 기록에 성공하면 평점 변경 트랜잭션에서 남긴 아웃박스 행을 지웁니다.
+ *
+ * 이벤트는 큐에 넣기 전에 인코딩하므로, 묶음 재시도는 Redis 오류에 대해서만 일어납니다.
+ * 인코딩할 수 없는 이벤트(0.5 단위가 아닌 평점 등)는 바로 버리며, 아웃박스 행은 릴레이가 정리합니다.
+ *
+ * Redis에 쓰지 못하면 같은 묶음을 지수 백오프로 계속 재시도하며, 그동안 큐가 가득 차면 drop-policy에 따라
+ * 가장 새 이벤트(drop-newest) 또는 가장 오래된 이벤트(drop-oldest)를 버립니다.
+ * 버리거나 종료로 기록하지 못한 이벤트는 아웃박스에 남아 StarEventOutboxRelay가 다시 전달합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarEventStreamPublisher {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final StarEventStreamStore starEventStreamStore;
+    private final DirtyIsbnRedisRepository dirtyIsbnRedisRepository;
+    private final StarEventOutboxJdbcRepository starEventOutboxJdbcRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${similarity.stream.publish.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${similarity.stream.publish.batch-size:200}")
+    private int batchSize;
+
+    // 첫 이벤트를 받은 뒤 묶음을 채우기 위해 더 기다리는 시간
+    @Value("${similarity.stream.publish.linger-ms:5}")
+    private long lingerMillis;
+
+    @Value("${similarity.stream.publish.max-backoff-ms:5000}")
+    private long maxBackoffMillis;
+
+    // drop-newest | drop-oldest
+    @Value("${similarity.stream.publish.drop-policy:drop-newest}")
+    private String dropPolicy;
+
+    private BlockingQueue<PendingEvent> queue;
+    // 큐가 가득 찬 뒤 첫 drop만 경고하고, 다음 기록에 성공하면 다시 경고
+    private volatile boolean dropWarned;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    private Counter publishedCounter;
+    private Counter droppedCounter;
+    private Counter unencodableCounter;
+    private Counter failureCounter;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        publishedCounter = Counter.builder("similarity.stream.publish.published")
+                .description("Redis Streams에 기록된 평점 이벤트 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("similarity.stream.publish.dropped")
+                .description("큐가 가득 차 버려진 평점 이벤트 수")
+                .tag("policy", dropPolicy)
+                .register(meterRegistry);
+        unencodableCounter = Counter.builder("similarity.stream.publish.unencodable")
+                .description("인코딩할 수 없어 버려진 평점 이벤트 수")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("similarity.stream.publish.failures")
+                .description("Redis 기록에 실패해 재시도한 횟수")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("similarity.stream.publish.flush")
+                .description("묶음 하나를 Redis에 기록하는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.publish.queue.size", queue, BlockingQueue::size)
+                .description("기록을 기다리는 평점 이벤트 수")
+                .register(meterRegistry);
+
+        running = true;
+        worker = new Thread(this::run, "star-event-publisher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 이벤트를 큐에 넣고 바로 반환합니다. Redis 상태와 무관하게 호출 스레드를 막지 않습니다.
+     */
+    public void publish(StarRatingEvent event) {
+        if (!StringUtils.hasText(event.getIsbn())) {
+            log.error("ISBN이 null 또는 비어있는 이벤트 무시 - MemberId: {}, EventType: {}",
+                    event.getMemberId(), event.getEventType());
+            return;
+        }
+
+        PendingEvent pendingEvent;
+        try {
+            pendingEvent = new PendingEvent(event.getOutboxId(), event.getIsbn(),
+                    StarEventCodec.encode(StarEventMessage.from(event)));
+        } catch (RuntimeException e) {
+            // 재시도해도 성공하지 않으므로 큐에 넣지 않음
+            unencodableCounter.increment();
+            log.error("인코딩할 수 없는 평점 이벤트 버림 - ISBN: {}, OutboxId: {} (아웃박스 릴레이가 정리)",
+                    event.getIsbn(), event.getOutboxId(), e);
+            return;
+        }
+        if (queue.offer(pendingEvent)) {
+            return;
+        }
+
+        if ("drop-oldest".equals(dropPolicy)) {
+            PendingEvent oldest = queue.poll();
+            if (oldest != null) {
+                drop(oldest);
+            }
+            if (queue.offer(pendingEvent)) {
+                return;
+            }
+        }
+        drop(pendingEvent);
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("기록하지 못한 평점 이벤트 {}건을 남기고 종료합니다. (아웃박스 릴레이가 전달)", queue.size());
+        }
+    }
+
+    //== private methods ==//
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+        while (running || !batch.isEmpty() || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty() && !fill(batch)) {
+                    continue;
+                }
+
+                flush(batch);
+                batch.clear();
+                backoffMillis = INITIAL_BACKOFF_MILLIS;
+            } catch (InterruptedException e) {
+                // 종료 중에는 남은 이벤트를 한 번 더 기록해 본 뒤 멈춤
+                if (!running) {
+                    flushRemainingOnce(batch);
+                    return;
+                }
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("평점 이벤트 {}건 Redis 기록 실패 - {}ms 후 재시도 (대기: {}건)",
+                        batch.size(), backoffMillis, queue.size(), e);
+                if (!running || !sleep(backoffMillis)) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    // 첫 이벤트를 기다린 뒤 linger 동안 batch-size까지 더 모음
+    private boolean fill(List<PendingEvent> batch) throws InterruptedException {
+        PendingEvent first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            PendingEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void flush(List<PendingEvent> batch) {
+        long startTime = System.nanoTime();
+        List<byte[]> payloads = batch.stream().map(PendingEvent::payload).toList();
+
+        // 변경 ISBN을 먼저 기록하여 XADD 재시도 시 같은 이벤트가 중복 추가되지 않게 함 (ZADD는 멱등)
+        Set<String> isbns = new LinkedHashSet<>();
+        batch.forEach(pendingEvent -> isbns.add(pendingEvent.isbn()));
+        dirtyIsbnRedisRepository.markAll(isbns);
+        starEventStreamStore.appendEncoded(payloads);
+        deleteOutbox(batch);
+
+        dropWarned = false;
+        flushTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(batch.size());
+        log.debug("Redis Streams에 평점 이벤트 {}건 기록", batch.size());
+    }
+
+    // 이미 스트림에 기록했으므로 실패해도 재시도하지 않음 (남은 행은 릴레이가 한 번 더 전달)
+    private void deleteOutbox(List<PendingEvent> batch) {
+        List<Long> outboxIds = batch.stream()
+                .map(PendingEvent::outboxId)
+                .filter(Objects::nonNull)
+                .toList();
+        try {
+            starEventOutboxJdbcRepository.deleteAll(outboxIds);
+        } catch (Exception e) {
+            log.warn("아웃박스 행 {}건 삭제 실패", outboxIds.size(), e);
+        }
+    }
+
+    private void flushRemainingOnce(List<PendingEvent> batch) {
+        queue.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flush(batch);
+        } catch (Exception e) {
+            log.warn("종료 중 평점 이벤트 {}건 기록 실패 (아웃박스 릴레이가 전달)", batch.size(), e);
+        }
+    }
+
+    // Redis 장애 중에는 매 건 로그를 남기지 않도록 첫 건만 경고
+    private void drop(PendingEvent pendingEvent) {
+        droppedCounter.increment();
+        if (dropWarned) {
+            log.debug("평점 이벤트 버림 - ISBN: {}, OutboxId: {}", pendingEvent.isbn(), pendingEvent.outboxId());
+            return;
+        }
+        dropWarned = true;
+        log.warn("평점 이벤트 큐가 가득 차 이벤트를 버립니다 - ISBN: {}, OutboxId: {} (대기: {}건, 아웃박스 릴레이가 전달)",
+                pendingEvent.isbn(), pendingEvent.outboxId(), queue.size());
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record PendingEvent(Long outboxId, String isbn, byte[] payload) {
+    }
+}
@@ -0,0 +1,141 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventCodec;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventRecord;
+import capstone.bookitty.domain.star.config.StarStreamConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * star-events 스트림의 쓰기/읽기를 바이트 수준에서 처리합니다.
+ * 메시지는 StarEventCodec으로 인코딩한 필드 하나("e")로 기록하며, 템플릿의 JDK 직렬화를 거치지 않습니다.
+ * 이전 형식(필드별 직렬화) 메시지도 읽을 수 있도록 해당 필드가 없으면 템플릿 직렬화기로 복원합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarEventStreamStore {
+
+    private static final byte[] STREAM_KEY = StarStreamConfig.STAR_EVENTS_STREAM.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CODEC_FIELD = StarEventCodec.FIELD.getBytes(StandardCharsets.UTF_8);
+
+    @Qualifier("redisTemplate")
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * StarEventCodec으로 인코딩한 페이로드를 MAXLEN 없이 XADD 합니다. MAXLEN은 consumer 그룹을 고려하지 않아,
+     * 배치 중 보류된 메시지처럼 아직 전달되지 않은 항목까지 지울 수 있기 때문입니다. 트리밍은 그룹이 소비를 마친
+     * 구간만 지우는 StarStreamTrimmer가 맡고, 길이가 비정상적으로 늘어나면 그쪽에서 경고합니다.
+     * 여러 건의 XADD를 파이프라인으로 한 번에 보내며, 하나라도 실패하면 예외가 발생합니다.
+     * 인코딩은 호출 측이 메시지별로 먼저 하므로, 여기서 발생하는 예외는 Redis 오류뿐입니다.
+     */
+    public void appendEncoded(List<byte[]> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] payload : payloads) {
+                connection.streamCommands().xAdd(toRecord(payload), XAddOptions.none());
+            }
+            return null;
+        });
+    }
+
+    // XREADGROUP COUNT n BLOCK t STREAMS star-events >
+    public List<StarEventRecord> read(Consumer consumer, StreamReadOptions options) {
+        StreamOffset<byte[]> offset = StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed());
+        List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xReadGroup(consumer, options, offset));
+        return decodeAll(records);
+    }
+
+    /**
+     * minIdle 이상 방치된 메시지만 consumerName으로 옮깁니다. 본문이 트리밍된 항목은 결과에 포함되지 않습니다.
+     */
+    public List<StarEventRecord> claim(String consumerName, Duration minIdle, RecordId... recordIds) {
+        XClaimOptions options = XClaimOptions.minIdle(minIdle).ids(recordIds);
+        List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xClaim(STREAM_KEY, StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumerName, options));
+        return decodeAll(records);
+    }
+
+    // XACK는 여러 ID를 한 번에 받으므로 배치 전체를 한 번의 왕복으로 확인
+    public void acknowledge(RecordId... recordIds) {
+        if (recordIds.length == 0) {
+            return;
+        }
+        redisTemplate.opsForStream().acknowledge(
+                StarStreamConfig.STAR_EVENTS_STREAM,
+                StarStreamConfig.SIMILARITY_CONSUMER_GROUP,
+                recordIds);
+    }
+
+    /**
+     * 레코드 값을 메시지로 복원합니다. 해석할 수 없는 레코드(초기화 레코드 등)는 message가 null입니다.
+     */
+    public StarEventRecord decode(RecordId recordId, Map<byte[], byte[]> values) {
+        try {
+            // byte[] 키는 동일성으로 비교되므로 get 대신 내용을 비교
+            for (Map.Entry<byte[], byte[]> entry : values.entrySet()) {
+                if (Arrays.equals(entry.getKey(), CODEC_FIELD)) {
+                    return new StarEventRecord(recordId, StarEventCodec.decode(entry.getValue()));
+                }
+            }
+            return new StarEventRecord(recordId, StarEventMessage.from(deserializeLegacy(values)));
+        } catch (Exception e) {
+            log.warn("Stream 메시지 복원 실패: {}", recordId, e);
+            return new StarEventRecord(recordId, null);
+        }
+    }
+
+    //== private methods ==//
+
+    private ByteRecord toRecord(byte[] payload) {
+        return StreamRecords.rawBytes(Collections.singletonMap(CODEC_FIELD, payload))
+                .withStreamKey(STREAM_KEY);
+    }
+
+    private List<StarEventRecord> decodeAll(List<ByteRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        List<StarEventRecord> decoded = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            decoded.add(decode(record.getId(), record.getValue()));
+        }
+        return decoded;
+    }
+
+    private Map<Object, Object> deserializeLegacy(Map<byte[], byte[]> values) {
+        RedisSerializer<?> keySerializer = redisTemplate.getHashKeySerializer();
+        RedisSerializer<?> valueSerializer = redisTemplate.getHashValueSerializer();
+        Map<Object, Object> deserialized = new HashMap<>(values.size());
+        values.forEach((key, value) -> deserialized.put(
+                keySerializer.deserialize(key), valueSerializer.deserialize(value)));
+        return deserialized;
+    }
+}
@@ -0,0 +1,118 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventRecord;
+import capstone.bookitty.domain.star.config.StarStreamConfig;
+import capstone.bookitty.domain.star.config.StreamConsumerIdentity;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * consumer마다 전용 스레드에서 XREADGROUP COUNT n BLOCK t로 여러 건을 한 번에 읽고,
+ * BookSimilarityEventStreamService.processBatch로 ISBN별 lane에 넘긴 뒤 처리가 끝나면 한 번의 XACK로 확인합니다.
+ * 리스너 컨테이너처럼 한 건씩 넘기지 않으므로 이벤트당 Redis 왕복이 줄어듭니다.
+ *
+ * 배치 실행 중에는 읽지 않고 기다리므로, 그동안의 메시지는 스트림에 남아 배치 이후 순서대로 처리됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarStreamBatchConsumer {
+
+    private static final long PAUSE_SLEEP_MILLIS = 1000;
+    private static final long ERROR_BACKOFF_MILLIS = 5000;
+
+    private final StarEventStreamStore starEventStreamStore;
+    private final StreamConsumerIdentity streamConsumerIdentity;
+    private final BookSimilarityEventStreamService streamService;
+
+    @Value("${similarity.stream.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${similarity.stream.batch.size:100}")
+    private int batchSize;
+
+    @Value("${similarity.stream.batch.poll-timeout-ms:1000}")
+    private long pollTimeoutMillis;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (String consumerName : streamConsumerIdentity.consumerNames()) {
+            Thread worker = new Thread(() -> consume(consumerName), "similarity-stream-" + consumerName);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Redis Streams 배치 consumer 시작 - consumer: {}, batchSize: {}, pollTimeout: {}ms",
+                streamConsumerIdentity.consumerNames(), batchSize, pollTimeoutMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    //== private methods ==//
+
+    private void consume(String consumerName) {
+        Consumer consumer = Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumerName);
+        StreamReadOptions options = StreamReadOptions.empty()
+                .count(Math.max(1, batchSize))
+                .block(Duration.ofMillis(pollTimeoutMillis));
+
+        while (running) {
+            try {
+                if (streamService.isProcessingPaused()) {
+                    Thread.sleep(PAUSE_SLEEP_MILLIS);
+                    continue;
+                }
+
+                List<StarEventRecord> records = starEventStreamStore.read(consumer, options);
+                if (!records.isEmpty()) {
+                    streamService.processBatch(records);
+                    log.debug("Stream 배치 처리 완료 - Consumer: {}, {}건", consumerName, records.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Stream 배치 읽기 실패 - Consumer: {}", consumerName, e);
+                if (!backOff()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(ERROR_BACKOFF_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.star.config.StarStreamConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * star-events 스트림의 적체 상태와 처리 시간을 Prometheus로 내보냅니다.
+ * <ul>
+ *     <li>similarity.stream.length: 스트림 길이 (XLEN)</li>
+ *     <li>similarity.stream.pending: 전달되었으나 ACK되지 않은 메시지 수 (XPENDING)</li>
+ *     <li>similarity.stream.lag: 그룹에 아직 전달되지 않은 메시지 수 (XINFO GROUPS의 lag)</li>
+ *     <li>similarity.stream.processing: 메시지 처리 시간 (path=incremental|recalculate)</li>
+ *     <li>similarity.stream.end_to_end: 이벤트 timestamp부터 반영 완료까지의 시간</li>
+ * </ul>
+ * 스트림 상태는 스크랩마다 Redis를 호출하지 않도록 주기적으로 조회해 둔 값을 노출합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarStreamMetrics {
+
+    public static final String INCREMENTAL_PATH = "incremental";
+    public static final String RECALCULATE_PATH = "recalculate";
+
+    // lag 필드가 없는 Redis(7.0 미만)에서 직접 셀 최대 메시지 수
+    private static final int LAG_SCAN_LIMIT = 10_000;
+
+    @Qualifier("redisTemplate")
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong length = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lag = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("similarity.stream.length", length, AtomicLong::get)
+                .description("star-events 스트림 길이")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.pending", pending, AtomicLong::get)
+                .description("similarity-processor 그룹의 ACK 대기 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.lag", lag, AtomicLong::get)
+                .description("similarity-processor 그룹에 아직 전달되지 않은 메시지 수")
+                .register(meterRegistry);
+    }
+
+    public static Timer processingTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("similarity.stream.processing")
+                .description("스트림 메시지 처리 시간")
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public static Timer endToEndTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("similarity.stream.end_to_end")
+                .description("평점 이벤트 발생부터 유사도 반영까지의 시간")
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(12)) // 배치 중 미뤄진 이벤트 포함
+                .register(meterRegistry);
+    }
+
+    // 이전 형식 메시지처럼 시각을 모르면(0) 기록하지 않음
+    public static void recordEndToEnd(Timer timer, long eventTimestamp) {
+        if (eventTimestamp > 0) {
+            timer.record(Math.max(0, System.currentTimeMillis() - eventTimestamp), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${similarity.stream.metrics.refresh-ms:15000}")
+    public void refresh() {
+        try {
+            Long size = redisTemplate.opsForStream().size(StarStreamConfig.STAR_EVENTS_STREAM);
+            length.set(size != null ? size : 0);
+
+            PendingMessagesSummary summary = redisTemplate.opsForStream()
+                    .pending(StarStreamConfig.STAR_EVENTS_STREAM, StarStreamConfig.SIMILARITY_CONSUMER_GROUP);
+            pending.set(summary != null ? summary.getTotalPendingMessages() : 0);
+
+            lag.set(groupLag());
+        } catch (Exception e) {
+            log.warn("Stream 메트릭 조회 실패", e);
+        }
+    }
+
+    //== private methods ==//
+
+    private long groupLag() {
+        StreamInfo.XInfoGroup group = redisTemplate.opsForStream().groups(StarStreamConfig.STAR_EVENTS_STREAM).stream()
+                .filter(info -> StarStreamConfig.SIMILARITY_CONSUMER_GROUP.equals(info.groupName()))
+                .findFirst()
+                .orElse(null);
+        if (group == null) {
+            return 0;
+        }
+
+        Object lagValue = group.getRaw().get("lag");
+        if (lagValue instanceof Number number) {
+            return number.longValue();
+        }
+
+        // 마지막 전달 ID 이후의 메시지를 최대 LAG_SCAN_LIMIT개까지 직접 셈
+        return redisTemplate.opsForStream().range(StarStreamConfig.STAR_EVENTS_STREAM,
+                        Range.rightUnbounded(Range.Bound.exclusive(group.lastDeliveredId())),
+                        Limit.limit().count(LAG_SCAN_LIMIT))
+                .size();
+    }
+}
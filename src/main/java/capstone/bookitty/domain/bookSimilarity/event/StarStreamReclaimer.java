@@ -0,0 +1,135 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventRecord;
+import capstone.bookitty.domain.star.config.StarStreamConfig;
+import capstone.bookitty.domain.star.config.StreamConsumerIdentity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 종료되었거나 멈춘 consumer가 받아 두고 ACK하지 못한 메시지를 주기적으로 회수하여 이 인스턴스에서 처리합니다.
+ * XPENDING으로 min-idle 이상 방치된 메시지를 찾고, 같은 min-idle 조건으로 XCLAIM하므로
+ * 여러 인스턴스가 동시에 회수해도 한 메시지는 한 곳에서만 처리됩니다. (XAUTOCLAIM과 같은 동작)
+ *
+ * 이 인스턴스의 consumer가 가진 메시지는 회수하지 않습니다. lane 큐에서 처리를 기다리느라 min-idle을 넘겼을 수 있고,
+ * 이를 다시 가져오면 같은 메시지가 두 번 처리되기 때문입니다. (재시작 전 남은 메시지는 시작 시 재처리)
+ *
+ * 회수할 메시지가 없고 오래 응답이 없는 다른 인스턴스의 consumer는 그룹에서 제거합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarStreamReclaimer {
+
+    @Qualifier("redisTemplate")
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StreamConsumerIdentity streamConsumerIdentity;
+    private final StarEventStreamStore starEventStreamStore;
+    private final BookSimilarityEventStreamService streamService;
+
+    @Value("${similarity.stream.reclaim.min-idle-ms:60000}")
+    private long minIdleMillis;
+
+    @Value("${similarity.stream.reclaim.batch-size:100}")
+    private int batchSize;
+
+    // pending이 없는 consumer를 제거하기까지의 유휴 시간
+    @Value("${similarity.stream.reclaim.dead-consumer-idle-ms:3600000}")
+    private long deadConsumerIdleMillis;
+
+    @Scheduled(fixedDelayString = "${similarity.stream.reclaim.interval-ms:30000}",
+            initialDelayString = "${similarity.stream.reclaim.interval-ms:30000}")
+    public void reclaimIdleMessages() {
+        // 배치 중에는 일부러 ACK하지 않은 메시지가 쌓이므로 회수하지 않음
+        if (streamService.isProcessingPaused()) {
+            return;
+        }
+
+        try {
+            List<StreamInfo.XInfoConsumer> otherConsumers = otherConsumers();
+            int reclaimed = 0;
+            for (StreamInfo.XInfoConsumer consumer : otherConsumers) {
+                if (consumer.pendingCount() > 0) {
+                    reclaimed += reclaimFrom(consumer.consumerName());
+                }
+            }
+
+            if (reclaimed > 0) {
+                log.info("방치된 Stream 메시지 회수/처리 완료: {}개 → {}", reclaimed, streamConsumerIdentity.primaryConsumerName());
+            }
+            removeDeadConsumers(otherConsumers);
+        } catch (Exception e) {
+            log.error("방치된 Stream 메시지 회수 중 오류", e);
+        }
+    }
+
+    //== private methods ==//
+
+    private int reclaimFrom(String consumerName) {
+        int reclaimed = 0;
+        List<RecordId> idleIds;
+        do {
+            idleIds = findIdleMessages(consumerName);
+            if (idleIds.isEmpty()) {
+                break;
+            }
+
+            List<StarEventRecord> claimed = starEventStreamStore.claim(
+                    streamConsumerIdentity.primaryConsumerName(),
+                    Duration.ofMillis(minIdleMillis),
+                    idleIds.toArray(RecordId[]::new));
+            reclaimed += streamService.processClaimedMessages(claimed);
+
+            // 다른 인스턴스가 먼저 가져간 경우 더 돌지 않음
+            if (claimed.isEmpty()) {
+                break;
+            }
+        } while (idleIds.size() >= batchSize);
+        return reclaimed;
+    }
+
+    private List<StreamInfo.XInfoConsumer> otherConsumers() {
+        StreamInfo.XInfoConsumers consumers = redisTemplate.opsForStream()
+                .consumers(StarStreamConfig.STAR_EVENTS_STREAM, StarStreamConfig.SIMILARITY_CONSUMER_GROUP);
+        return consumers.stream()
+                .filter(consumer -> !streamConsumerIdentity.isOwn(consumer.consumerName()))
+                .toList();
+    }
+
+    private List<RecordId> findIdleMessages(String consumerName) {
+        PendingMessages pending = redisTemplate.opsForStream().pending(
+                StarStreamConfig.STAR_EVENTS_STREAM,
+                Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumerName),
+                Range.unbounded(),
+                batchSize);
+
+        return pending.stream()
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().toMillis() >= minIdleMillis)
+                .map(PendingMessage::getId)
+                .toList();
+    }
+
+    private void removeDeadConsumers(List<StreamInfo.XInfoConsumer> otherConsumers) {
+        otherConsumers.stream()
+                .filter(consumer -> consumer.pendingCount() == 0 && consumer.idleTimeMs() >= deadConsumerIdleMillis)
+                .forEach(consumer -> {
+                    redisTemplate.opsForStream().deleteConsumer(StarStreamConfig.STAR_EVENTS_STREAM,
+                            Consumer.from(StarStreamConfig.SIMILARITY_CONSUMER_GROUP, consumer.consumerName()));
+                    log.info("응답 없는 Stream consumer 제거: {} (유휴 {}ms)", consumer.consumerName(), consumer.idleTimeMs());
+                });
+    }
+}
@@ -0,0 +1,155 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.star.config.StarStreamConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 consumer 그룹이 소비를 마친 구간만 XTRIM MINID ~ 로 지웁니다.
+ * 그룹마다 마지막 전달 ID와 ACK되지 않은 가장 오래된 ID 중 작은 값을 구하고, 모든 그룹의 최솟값보다
+ * 앞선 메시지만 지우므로 아직 전달되지 않았거나 처리 중인 메시지는 남습니다.
+ *
+ * 생산자는 길이를 자르지 않으므로, 소비가 멈추면 스트림이 계속 늘어납니다. 길이가 alert-length를 넘으면
+ * 메시지를 버리지 않고 경고 로그와 similarity.stream.retention.over_alert_length 메트릭으로 알립니다.
+ *
+ * 보존 상태는 similarity.stream.retention.* 메트릭으로 노출합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StarStreamTrimmer {
+
+    @Qualifier("redisTemplate")
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${similarity.stream.alert-length:" + StarStreamConfig.ALERT_STREAM_LENGTH + "}")
+    private long alertStreamLength;
+
+    private final AtomicLong oldestEntryAgeSeconds = new AtomicLong();
+    private final AtomicLong streamLength = new AtomicLong();
+    // 경고는 상한을 넘을 때 한 번만 남기고, 다시 내려가면 해제
+    private volatile boolean overAlertLength;
+    private Counter trimmedCounter;
+
+    @PostConstruct
+    public void init() {
+        trimmedCounter = Counter.builder("similarity.stream.retention.trimmed")
+                .description("소비가 끝나 트리밍된 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.retention.oldest_age_seconds", oldestEntryAgeSeconds, AtomicLong::get)
+                .description("스트림에 남은 가장 오래된 메시지의 나이(초)")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.retention.length", streamLength, AtomicLong::get)
+                .description("스트림에 남은 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.retention.alert_length", this, trimmer -> trimmer.alertStreamLength)
+                .description("경고를 보내는 스트림 길이")
+                .register(meterRegistry);
+        Gauge.builder("similarity.stream.retention.over_alert_length", this, trimmer -> trimmer.overAlertLength ? 1 : 0)
+                .description("스트림 길이가 경고 기준을 넘었으면 1")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${similarity.stream.trim.interval-ms:60000}")
+    public void trimConsumedEntries() {
+        try {
+            String safeId = safeTrimId();
+            if (safeId != null) {
+                Long trimmed = redisTemplate.execute((RedisCallback<Long>) connection -> (Long) connection.execute("XTRIM",
+                        bytes(StarStreamConfig.STAR_EVENTS_STREAM), bytes("MINID"), bytes("~"), bytes(safeId)));
+                if (trimmed != null && trimmed > 0) {
+                    trimmedCounter.increment(trimmed);
+                    log.debug("소비 완료 구간 트리밍: {}개 (MINID {})", trimmed, safeId);
+                }
+            }
+            updateRetentionState();
+        } catch (Exception e) {
+            log.warn("Stream 트리밍 실패", e);
+        }
+    }
+
+    //== private methods ==//
+
+    /**
+     * @return 이 ID보다 앞선 메시지는 모든 그룹이 ACK까지 마친 상태 (그룹이 없으면 null)
+     */
+    private String safeTrimId() {
+        StreamInfo.XInfoGroups groups = redisTemplate.opsForStream().groups(StarStreamConfig.STAR_EVENTS_STREAM);
+        if (groups.isEmpty()) {
+            return null;
+        }
+
+        String safeId = null;
+        for (StreamInfo.XInfoGroup group : groups.stream().toList()) {
+            String groupSafeId = group.lastDeliveredId();
+            if (group.pendingCount() > 0) {
+                PendingMessagesSummary summary = redisTemplate.opsForStream()
+                        .pending(StarStreamConfig.STAR_EVENTS_STREAM, group.groupName());
+                groupSafeId = min(groupSafeId, summary.minMessageId());
+            }
+            safeId = safeId == null ? groupSafeId : min(safeId, groupSafeId);
+        }
+        // 그룹이 아직 아무것도 전달받지 않은 상태
+        return "0-0".equals(safeId) ? null : safeId;
+    }
+
+    private void updateRetentionState() {
+        StreamInfo.XInfoStream info = redisTemplate.opsForStream().info(StarStreamConfig.STAR_EVENTS_STREAM);
+        streamLength.set(info.streamLength());
+        checkAlertLength(info.streamLength());
+        if (info.streamLength() == 0) {
+            oldestEntryAgeSeconds.set(0);
+            return;
+        }
+        String firstEntryId = info.firstEntryId();
+        long firstEntryMillis = Long.parseLong(firstEntryId.substring(0, firstEntryId.indexOf('-')));
+        oldestEntryAgeSeconds.set(Math.max(0, (System.currentTimeMillis() - firstEntryMillis) / 1000));
+    }
+
+    private void checkAlertLength(long length) {
+        if (length <= alertStreamLength) {
+            overAlertLength = false;
+            return;
+        }
+        if (!overAlertLength) {
+            overAlertLength = true;
+            log.warn("star-events 스트림 길이가 경고 기준을 넘었습니다: {} > {} (consumer 처리 지연 확인 필요)",
+                    length, alertStreamLength);
+        }
+    }
+
+    // 스트림 ID(밀리초-순번)를 숫자로 비교
+    static String min(String id1, String id2) {
+        return compare(id1, id2) <= 0 ? id1 : id2;
+    }
+
+    static int compare(String id1, String id2) {
+        int dash1 = id1.indexOf('-');
+        int dash2 = id2.indexOf('-');
+        int result = Long.compare(Long.parseLong(id1.substring(0, dash1)), Long.parseLong(id2.substring(0, dash2)));
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(Long.parseLong(id1.substring(dash1 + 1)), Long.parseLong(id2.substring(dash2 + 1)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
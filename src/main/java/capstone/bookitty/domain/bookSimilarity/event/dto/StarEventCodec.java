@@ -0,0 +1,244 @@
+package capstone.bookitty.domain.bookSimilarity.event.dto;
+
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * star-events 메시지를 필드 하나에 담는 바이너리 형식으로 변환합니다. (약 20바이트)
+ *
+ * <pre>
+ * [버전 1B][플래그 1B][ISBN][회원 ID varint][이전 평점 1B][현재 평점 1B][timestamp varint][이벤트 ID varint]
+ * [다른 책 수 varint][(다른 책 ISBN, 평점 1B) × 다른 책 수]
+ * 플래그: bit0-1 이벤트 유형(0=없음, 1=CREATED, 2=UPDATED, 3=DELETED), bit2 이전 평점, bit3 현재 평점,
+ *        bit4 회원 ID, bit5 ISBN이 숫자로 압축됨 (아니면 길이 varint + UTF-8), bit6 이벤트 ID (버전 2부터),
+ *        bit7 다른 책 평점 (버전 3부터)
+ * 평점은 0.5 단위이므로 2를 곱한 값을 1바이트로 저장합니다.
+ * 다른 책 ISBN은 varint 하나로 쓰며, 최하위 비트가 1이면 나머지가 숫자로 압축된 ISBN이고 0이면 나머지가 UTF-8 길이입니다.
+ * </pre>
+ * 형식을 바꿀 때는 VERSION을 올리고 decode에서 이전 버전을 계속 읽을 수 있게 합니다.
+ */
+public final class StarEventCodec {
+
+    public static final String FIELD = "e";
+    public static final byte VERSION = 3;
+    // 이전 형식 (버전 1: 이벤트 ID 없음, 버전 2: 다른 책 평점 없음) - 배포 중 남은 메시지를 읽기 위해 계속 지원
+    private static final byte OLDEST_SUPPORTED_VERSION = 1;
+
+    private static final int TYPE_MASK = 0b11;
+    private static final int PREVIOUS_SCORE = 1 << 2;
+    private static final int CURRENT_SCORE = 1 << 3;
+    private static final int MEMBER_ID = 1 << 4;
+    private static final int PACKED_ISBN = 1 << 5;
+    private static final int EVENT_ID = 1 << 6;
+    private static final int OTHER_SCORES = 1 << 7;
+
+    // 버전 + 플래그 + varint(ISBN) 최대 10 + varint(회원) 최대 10 + 평점 2 + varint(시각) 최대 10 + varint(이벤트) 최대 10
+    private static final int MAX_PACKED_SIZE = 44;
+
+    private StarEventCodec() {
+    }
+
+    public static byte[] encode(StarEventMessage message) {
+        boolean packedIsbn = isPackable(message.isbn());
+        byte[] isbnBytes = packedIsbn ? null : message.isbn().getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = new byte[MAX_PACKED_SIZE + (isbnBytes != null ? isbnBytes.length : 0)
+                + otherScoresMaxSize(message.otherScores())];
+
+        int flags = typeCode(message.eventType());
+        if (message.previousScore() != null) flags |= PREVIOUS_SCORE;
+        if (message.currentScore() != null) flags |= CURRENT_SCORE;
+        if (message.memberId() != null) flags |= MEMBER_ID;
+        if (packedIsbn) flags |= PACKED_ISBN;
+        if (message.eventId() != null) flags |= EVENT_ID;
+        if (message.otherScores() != null) flags |= OTHER_SCORES;
+
+        int position = 0;
+        buffer[position++] = VERSION;
+        buffer[position++] = (byte) flags;
+        if (packedIsbn) {
+            position = writeVarLong(buffer, position, Long.parseLong(message.isbn()));
+        } else {
+            position = writeVarLong(buffer, position, isbnBytes.length);
+            System.arraycopy(isbnBytes, 0, buffer, position, isbnBytes.length);
+            position += isbnBytes.length;
+        }
+        if (message.memberId() != null) {
+            position = writeVarLong(buffer, position, message.memberId());
+        }
+        if (message.previousScore() != null) {
+            buffer[position++] = halfStars(message.previousScore());
+        }
+        if (message.currentScore() != null) {
+            buffer[position++] = halfStars(message.currentScore());
+        }
+        position = writeVarLong(buffer, position, message.timestamp());
+        if (message.eventId() != null) {
+            position = writeVarLong(buffer, position, message.eventId());
+        }
+        if (message.otherScores() != null) {
+            position = writeOtherScores(buffer, position, message.otherScores());
+        }
+
+        byte[] encoded = new byte[position];
+        System.arraycopy(buffer, 0, encoded, 0, position);
+        return encoded;
+    }
+
+    public static StarEventMessage decode(byte[] bytes) {
+        if (bytes == null || bytes.length < 2) {
+            throw new IllegalArgumentException("Star event payload is too short");
+        }
+        if (bytes[0] < OLDEST_SUPPORTED_VERSION || bytes[0] > VERSION) {
+            throw new IllegalArgumentException("Unsupported star event payload version: " + bytes[0]);
+        }
+
+        int flags = bytes[1] & 0xFF;
+        Cursor cursor = new Cursor(bytes, 2);
+
+        String isbn;
+        if ((flags & PACKED_ISBN) != 0) {
+            isbn = Long.toString(cursor.readVarLong());
+        } else {
+            int length = (int) cursor.readVarLong();
+            cursor.require(length);
+            isbn = new String(bytes, cursor.position, length, StandardCharsets.UTF_8);
+            cursor.position += length;
+        }
+        Long memberId = (flags & MEMBER_ID) != 0 ? cursor.readVarLong() : null;
+        Double previousScore = (flags & PREVIOUS_SCORE) != 0 ? cursor.readByte() / 2.0 : null;
+        Double currentScore = (flags & CURRENT_SCORE) != 0 ? cursor.readByte() / 2.0 : null;
+        long timestamp = cursor.readVarLong();
+        Long eventId = (flags & EVENT_ID) != 0 ? cursor.readVarLong() : null;
+        Map<String, Double> otherScores = (flags & OTHER_SCORES) != 0 ? readOtherScores(cursor) : null;
+
+        return new StarEventMessage(isbn, memberId, previousScore, currentScore, eventType(flags & TYPE_MASK),
+                timestamp, eventId, otherScores);
+    }
+
+    //== private methods ==//
+
+    // 항목마다 varint(ISBN) 최대 10 + 문자열 ISBN 바이트 + 평점 1
+    private static int otherScoresMaxSize(Map<String, Double> otherScores) {
+        if (otherScores == null) {
+            return 0;
+        }
+        int size = 10;
+        for (String isbn : otherScores.keySet()) {
+            size += 11 + (isPackable(isbn) ? 0 : isbn.getBytes(StandardCharsets.UTF_8).length);
+        }
+        return size;
+    }
+
+    private static int writeOtherScores(byte[] buffer, int position, Map<String, Double> otherScores) {
+        position = writeVarLong(buffer, position, otherScores.size());
+        for (Map.Entry<String, Double> entry : otherScores.entrySet()) {
+            String isbn = entry.getKey();
+            if (isPackable(isbn)) {
+                position = writeVarLong(buffer, position, (Long.parseLong(isbn) << 1) | 1);
+            } else {
+                byte[] isbnBytes = isbn.getBytes(StandardCharsets.UTF_8);
+                position = writeVarLong(buffer, position, (long) isbnBytes.length << 1);
+                System.arraycopy(isbnBytes, 0, buffer, position, isbnBytes.length);
+                position += isbnBytes.length;
+            }
+            buffer[position++] = halfStars(entry.getValue());
+        }
+        return position;
+    }
+
+    private static Map<String, Double> readOtherScores(Cursor cursor) {
+        int count = (int) cursor.readVarLong();
+        Map<String, Double> otherScores = new LinkedHashMap<>();
+        for (int k = 0; k < count; k++) {
+            long header = cursor.readVarLong();
+            String isbn;
+            if ((header & 1) != 0) {
+                isbn = Long.toString(header >>> 1);
+            } else {
+                int length = (int) (header >>> 1);
+                cursor.require(length);
+                isbn = new String(cursor.bytes, cursor.position, length, StandardCharsets.UTF_8);
+                cursor.position += length;
+            }
+            otherScores.put(isbn, cursor.readByte() / 2.0);
+        }
+        return otherScores;
+    }
+
+    // 맨 앞이 0인 숫자는 long으로 바꾸면 자릿수가 사라지므로 문자열로 저장
+    private static boolean isPackable(String isbn) {
+        if (isbn == null || isbn.isEmpty() || isbn.length() > 18 || isbn.charAt(0) == '0') {
+            return false;
+        }
+        for (int k = 0; k < isbn.length(); k++) {
+            char c = isbn.charAt(k);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte halfStars(double score) {
+        double halfStars = score * 2;
+        if (halfStars != Math.floor(halfStars) || halfStars < 0 || halfStars > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Score must be in 0.5 increments: " + score);
+        }
+        return (byte) halfStars;
+    }
+
+    private static int typeCode(EventType eventType) {
+        return eventType == null ? 0 : eventType.ordinal() + 1;
+    }
+
+    private static EventType eventType(int code) {
+        return code == 0 ? null : EventType.values()[code - 1];
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static final class Cursor {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Cursor(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in star event payload");
+        }
+
+        private int readByte() {
+            require(1);
+            return bytes[position++];
+        }
+
+        private void require(int length) {
+            if (position + length > bytes.length) {
+                throw new IllegalArgumentException("Star event payload is truncated");
+            }
+        }
+    }
+}
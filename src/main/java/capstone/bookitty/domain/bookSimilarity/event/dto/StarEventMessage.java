@@ -0,0 +1,98 @@
+package capstone.bookitty.domain.bookSimilarity.event.dto;
+
+import capstone.bookitty.domain.star.event.StarRatingEvent;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/**
+ * star-events 스트림에 기록되는 평점 변경 메시지입니다.
+ * 증분 갱신에 필요한 회원, 이전/현재 평점, 이벤트 유형을 함께 싣습니다.
+ *
+ * eventId는 아웃박스 행 ID입니다. 발행기 재시도와 릴레이가 같은 이벤트를 두 번 기록할 수 있으므로
+ * 소비자는 이 값으로 이미 반영한 이벤트를 걸러냅니다. (이전 형식의 메시지는 null)
+ *
+ * otherScores는 변경 시점에 회원이 평가한 다른 책의 평점입니다. 증분 갱신은 처리 시점이 아닌 이 평점으로
+ * 쌍 통계를 보정하므로, lane마다 처리 순서가 달라도 결과가 같습니다. (이전 형식의 메시지는 null)
+ */
+public record StarEventMessage(String isbn, Long memberId, Double previousScore, Double currentScore,
+                               EventType eventType, long timestamp, Long eventId, Map<String, Double> otherScores) {
+
+    public StarEventMessage(String isbn, Long memberId, Double previousScore, Double currentScore,
+                            EventType eventType, long timestamp) {
+        this(isbn, memberId, previousScore, currentScore, eventType, timestamp, null, null);
+    }
+
+    public static StarEventMessage from(StarRatingEvent event) {
+        return new StarEventMessage(event.getIsbn(), event.getMemberId(), event.getPreviousScore(),
+                event.getCurrentScore(), event.getEventType(), System.currentTimeMillis(), event.getOutboxId(),
+                event.getOtherScores());
+    }
+
+    /**
+     * 스트림 레코드 값에서 메시지를 복원합니다. 누락되거나 해석할 수 없는 필드는 null로 둡니다.
+     */
+    public static StarEventMessage from(Map<?, ?> values) {
+        return new StarEventMessage(
+                text(values.get("isbn")),
+                parseLong(values.get("memberId")),
+                parseDouble(values.get("previousScore")),
+                parseDouble(values.get("currentScore")),
+                parseEventType(values.get("eventType")),
+                parseTimestamp(values.get("timestamp")));
+    }
+
+    /**
+     * 이벤트 유형과 이전/현재 평점이 서로 맞을 때만 쌍 통계를 증분 갱신할 수 있습니다.
+     * (이전 형식의 메시지는 previousScore가 없으므로 전체 재계산으로 처리)
+     */
+    public boolean supportsIncrementalUpdate() {
+        if (!StringUtils.hasText(isbn) || memberId == null || eventType == null) {
+            return false;
+        }
+        return switch (eventType) {
+            case CREATED -> previousScore == null && currentScore != null;
+            case UPDATED -> previousScore != null && currentScore != null;
+            case DELETED -> previousScore != null && currentScore == null;
+        };
+    }
+
+    //== private methods ==//
+
+    private static String text(Object value) {
+        return value != null && StringUtils.hasText(value.toString()) ? value.toString() : null;
+    }
+
+    private static Long parseLong(Object value) {
+        String text = text(value);
+        try {
+            return text != null ? Long.valueOf(text) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(Object value) {
+        String text = text(value);
+        try {
+            return text != null ? Double.valueOf(text) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static EventType parseEventType(Object value) {
+        String text = text(value);
+        try {
+            return text != null ? EventType.valueOf(text) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long parseTimestamp(Object value) {
+        Long timestamp = parseLong(value);
+        return timestamp != null ? timestamp : 0L;
+    }
+}
@@ -0,0 +1,9 @@
+package capstone.bookitty.domain.bookSimilarity.event.dto;
+
+import org.springframework.data.redis.connection.stream.RecordId;
+
+/**
+ * 스트림에서 읽은 레코드 ID와 복원한 메시지입니다. 복원할 수 없는 레코드는 message가 null이며 ACK만 합니다.
+ */
+public record StarEventRecord(RecordId id, StarEventMessage message) {
+}
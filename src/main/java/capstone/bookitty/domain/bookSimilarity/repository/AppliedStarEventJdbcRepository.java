@@ -0,0 +1,34 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+/**
+ * applied_star_event에 반영한 평점 이벤트를 기록합니다.
+ * 증분 갱신 트랜잭션 안에서 호출하므로, 갱신이 롤백되면 기록도 함께 사라져 재전달 시 다시 반영됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppliedStarEventJdbcRepository {
+
+    public static final String TABLE = "applied_star_event";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이벤트를 반영한 것으로 기록합니다.
+     *
+     * @return 처음 기록했으면 true, 이미 반영된 이벤트면 false
+     */
+    public boolean markApplied(long eventId) {
+        return jdbcTemplate.update("INSERT IGNORE INTO " + TABLE + " (event_id, applied_at) VALUES (?, ?)",
+                eventId, new Timestamp(System.currentTimeMillis())) > 0;
+    }
+
+    public int deleteAppliedBefore(Timestamp cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE applied_at < ?", cutoff);
+    }
+}
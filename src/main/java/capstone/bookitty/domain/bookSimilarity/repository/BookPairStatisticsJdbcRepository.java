@@ -0,0 +1,133 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static capstone.bookitty.global.entity.BaseEntity.CREATE_DATE_COLUMN;
+import static capstone.bookitty.global.entity.BaseEntity.MODIFIED_DATE_COLUMN;
+
+/**
+ * book_pair_statistics를 집합 단위 SQL로 조회/갱신합니다.
+ * 배치는 청크마다 통계를 덮어쓰고, 실시간 경로는 잠금 조회 후 보정한 값을 다시 씁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookPairStatisticsJdbcRepository {
+
+    public static final String TABLE = "book_pair_statistics";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * isbn과 others 각각으로 이루어진 쌍의 통계를 행 잠금(FOR UPDATE)과 함께 조회합니다.
+     *
+     * @return 상대 ISBN → 통계 (행이 없는 쌍은 포함되지 않음)
+     */
+    public Map<String, BookPairStatistics> findAllForUpdate(String isbn, Collection<String> others) {
+        Map<String, BookPairStatistics> result = new HashMap<>();
+        if (others.isEmpty()) {
+            return result;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT isbn1, isbn2, dot_product, norm_squared1, norm_squared2, common_users FROM ")
+                .append(TABLE).append(" WHERE (isbn1, isbn2) IN (");
+        List<Object> args = new ArrayList<>(others.size() * 2);
+
+        int k = 0;
+        for (String other : others) {
+            sql.append(k++ == 0 ? "(?, ?)" : ", (?, ?)");
+            boolean isbnFirst = isbn.compareTo(other) <= 0;
+            args.add(isbnFirst ? isbn : other);
+            args.add(isbnFirst ? other : isbn);
+        }
+        sql.append(") FOR UPDATE");
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            BookPairStatistics statistics = BookPairStatistics.builder()
+                    .isbn1(rs.getString(1))
+                    .isbn2(rs.getString(2))
+                    .dotProduct(rs.getDouble(3))
+                    .normSquared1(rs.getDouble(4))
+                    .normSquared2(rs.getDouble(5))
+                    .commonUsers(rs.getInt(6))
+                    .build();
+            String other = statistics.getIsbn1().equals(isbn) ? statistics.getIsbn2() : statistics.getIsbn1();
+            result.put(other, statistics);
+        }, args.toArray());
+        return result;
+    }
+
+    public int upsertAll(List<BookPairStatistics> statistics) {
+        return upsertAll(statistics, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * @param modifiedAt 기록할 행의 생성/수정 시각
+     */
+    public int upsertAll(List<BookPairStatistics> statistics, Timestamp modifiedAt) {
+        if (statistics.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE)
+                .append(" (isbn1, isbn2, dot_product, norm_squared1, norm_squared2, common_users, ")
+                .append(CREATE_DATE_COLUMN).append(", ").append(MODIFIED_DATE_COLUMN).append(") VALUES ");
+        List<Object> args = new ArrayList<>(statistics.size() * 8);
+
+        for (int k = 0; k < statistics.size(); k++) {
+            BookPairStatistics pair = statistics.get(k);
+            sql.append(k == 0 ? "(?, ?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?, ?)");
+            args.add(pair.getIsbn1());
+            args.add(pair.getIsbn2());
+            args.add(pair.getDotProduct());
+            args.add(pair.getNormSquared1());
+            args.add(pair.getNormSquared2());
+            args.add(pair.getCommonUsers());
+            args.add(modifiedAt);
+            args.add(modifiedAt);
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE dot_product = VALUES(dot_product)")
+                .append(", norm_squared1 = VALUES(norm_squared1), norm_squared2 = VALUES(norm_squared2)")
+                .append(", common_users = VALUES(common_users), ")
+                .append(MODIFIED_DATE_COLUMN).append(" = VALUES(").append(MODIFIED_DATE_COLUMN).append(")");
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    public int deleteAll(List<BookPairStatistics> statistics) {
+        if (statistics.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(TABLE).append(" WHERE (isbn1, isbn2) IN (");
+        List<Object> args = new ArrayList<>(statistics.size() * 2);
+
+        for (int k = 0; k < statistics.size(); k++) {
+            BookPairStatistics pair = statistics.get(k);
+            sql.append(k == 0 ? "(?, ?)" : ", (?, ?)");
+            args.add(pair.getIsbn1());
+            args.add(pair.getIsbn2());
+        }
+        sql.append(")");
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * @see IsbnPairTables#deleteTouchingModifiedBefore
+     */
+    public int deleteTouchingModifiedBefore(Collection<String> isbns, Timestamp cutoff) {
+        return IsbnPairTables.deleteTouchingModifiedBefore(jdbcTemplate, TABLE, isbns, cutoff);
+    }
+}
@@ -0,0 +1,96 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static capstone.bookitty.global.entity.BaseEntity.CREATE_DATE_COLUMN;
+import static capstone.bookitty.global.entity.BaseEntity.MODIFIED_DATE_COLUMN;
+
+/**
+ * 배치 경로에서 book_similarity를 JPA 없이 집합 단위 SQL로 갱신합니다.
+ * 청크 하나를 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 한 번과 DELETE 한 번으로 처리합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookSimilarityJdbcRepository {
+
+    public static final String TABLE = "book_similarity";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int upsertAll(List<BookSimilarityResult> results) {
+        return upsertAll(TABLE, results);
+    }
+
+    public int upsertAll(String table, List<BookSimilarityResult> results) {
+        return upsertAll(table, results, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * @param table      기록할 테이블 (섀도 빌드 시 book_similarity_next)
+     * @param modifiedAt 기록할 행의 생성/수정 시각
+     */
+    public int upsertAll(String table, List<BookSimilarityResult> results, Timestamp modifiedAt) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (isbn1, isbn2, similarity, ").append(CREATE_DATE_COLUMN).append(", ").append(MODIFIED_DATE_COLUMN)
+                .append(") VALUES ");
+        List<Object> args = new ArrayList<>(results.size() * 5);
+
+        for (int k = 0; k < results.size(); k++) {
+            BookSimilarityResult result = results.get(k);
+            sql.append(k == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            args.add(result.isbn1());
+            args.add(result.isbn2());
+            args.add(result.similarity());
+            args.add(modifiedAt);
+            args.add(modifiedAt);
+        }
+        // 기존 행은 생성 시각을 유지하고 유사도와 수정 시각만 갱신
+        sql.append(" ON DUPLICATE KEY UPDATE similarity = VALUES(similarity), ")
+                .append(MODIFIED_DATE_COLUMN).append(" = VALUES(").append(MODIFIED_DATE_COLUMN).append(")");
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    public int deleteAll(List<BookSimilarityResult> results) {
+        return deleteAll(TABLE, results);
+    }
+
+    public int deleteAll(String table, List<BookSimilarityResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(table).append(" WHERE (isbn1, isbn2) IN (");
+        List<Object> args = new ArrayList<>(results.size() * 2);
+
+        for (int k = 0; k < results.size(); k++) {
+            BookSimilarityResult result = results.get(k);
+            sql.append(k == 0 ? "(?, ?)" : ", (?, ?)");
+            args.add(result.isbn1());
+            args.add(result.isbn2());
+        }
+        sql.append(")");
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * @see IsbnPairTables#deleteTouchingModifiedBefore
+     */
+    public int deleteTouchingModifiedBefore(Collection<String> isbns, Timestamp cutoff) {
+        return IsbnPairTables.deleteTouchingModifiedBefore(jdbcTemplate, TABLE, isbns, cutoff);
+    }
+}
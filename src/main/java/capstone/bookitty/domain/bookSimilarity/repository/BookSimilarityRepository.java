@@ -5,7 +5,12 @@ import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarityId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BookSimilarityRepository extends JpaRepository<BookSimilarity, BookSimilarityId> {
     void deleteByIsbn1OrIsbn2(String isbn1, String isbn2);
+
+    List<BookSimilarity> findByIsbn1InOrIsbn2In(Collection<String> isbn1s, Collection<String> isbn2s);
 }
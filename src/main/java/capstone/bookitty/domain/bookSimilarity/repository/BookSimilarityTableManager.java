@@ -0,0 +1,123 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유사도 배치의 섀도 테이블 빌드를 관리합니다.
+ * 배치는 book_similarity_next에 보조 인덱스 없이 적재한 뒤 인덱스를 만들고,
+ * RENAME TABLE 한 번으로 세대를 돌립니다. (prev → retired, 현재 → prev, next → 현재)
+ * 직전 세대는 book_similarity_prev로 남으며, 되돌려야 할 때는 다음 문장을 직접 실행합니다.
+ * <pre>
+ * RENAME TABLE book_similarity TO book_similarity_swap,
+ *              book_similarity_prev TO book_similarity,
+ *              book_similarity_swap TO book_similarity_prev;
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSimilarityTableManager {
+
+    public static final String NEXT_TABLE = "book_similarity_next";
+    public static final String PREVIOUS_TABLE = "book_similarity_prev";
+
+    // 교체로 밀려난 두 세대 전 테이블 (교체가 커밋된 뒤 삭제)
+    private static final String RETIRED_TABLE = "book_similarity_retired";
+
+    // BookSimilarity 엔티티에 선언된 보조 인덱스 (인덱스 이름 → 컬럼), 적재가 끝난 뒤 생성
+    private static final Map<String, String> SECONDARY_INDEXES = Map.of(
+            "idx_isbn1", "isbn1",
+            "idx_isbn2", "isbn2"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${batch.similarity.shadow.enabled:false}")
+    private boolean shadowEnabled;
+
+    public boolean isShadowEnabled() {
+        return shadowEnabled;
+    }
+
+    /**
+     * 배치 Writer가 유사도를 기록할 테이블
+     */
+    public String batchTargetTable() {
+        return shadowEnabled ? NEXT_TABLE : BookSimilarityJdbcRepository.TABLE;
+    }
+
+    /**
+     * 현재 테이블과 같은 구조의 빈 섀도 테이블을 만들고 보조 인덱스를 제거합니다.
+     */
+    public void prepareNextTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + NEXT_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + NEXT_TABLE + " LIKE " + BookSimilarityJdbcRepository.TABLE);
+
+        List<String> indexes = secondaryIndexes(NEXT_TABLE);
+        for (String index : indexes) {
+            jdbcTemplate.execute("ALTER TABLE " + NEXT_TABLE + " DROP INDEX " + index);
+        }
+        log.info("섀도 테이블 준비 완료: {} (제거한 보조 인덱스: {})", NEXT_TABLE, indexes);
+    }
+
+    /**
+     * 섀도 테이블에 보조 인덱스를 만들고, 현재 테이블과 원자적으로 교체합니다.
+     * 어느 단계에서 실패한 Step을 재시작해도 같은 결과가 되도록, 이미 끝난 단계는 건너뜁니다.
+     * (next가 없으면 교체가 이미 커밋된 것이므로 밀려난 세대만 정리)
+     */
+    public void swapInNextTable() {
+        if (!tableExists(NEXT_TABLE)) {
+            log.info("섀도 테이블이 없어 교체를 건너뜁니다 - 이전 시도에서 이미 교체됨");
+            dropRetiredTable();
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        // 교체 직전에 실패한 Step을 재시작해도 이미 만든 인덱스는 건너뜀
+        List<String> existing = secondaryIndexes(NEXT_TABLE);
+        SECONDARY_INDEXES.forEach((index, column) -> {
+            if (!existing.contains(index)) {
+                jdbcTemplate.execute("CREATE INDEX " + index + " ON " + NEXT_TABLE + " (" + column + ")");
+            }
+        });
+        log.info("섀도 테이블 인덱스 생성 완료: {}ms", System.currentTimeMillis() - startTime);
+
+        // 이전 교체에서 지우지 못한 세대가 남아 있으면 RENAME 대상 이름이 겹치므로 먼저 정리
+        dropRetiredTable();
+        String currentTable = BookSimilarityJdbcRepository.TABLE;
+        String rotation = tableExists(PREVIOUS_TABLE)
+                ? PREVIOUS_TABLE + " TO " + RETIRED_TABLE + ", " + currentTable + " TO " + PREVIOUS_TABLE
+                : currentTable + " TO " + PREVIOUS_TABLE;
+        jdbcTemplate.execute("RENAME TABLE " + rotation + ", " + NEXT_TABLE + " TO " + currentTable);
+        log.info("유사도 테이블 교체 완료 (직전 세대: {})", PREVIOUS_TABLE);
+
+        dropRetiredTable();
+    }
+
+    //== private methods ==//
+
+    private void dropRetiredTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + RETIRED_TABLE);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private List<String> secondaryIndexes(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT index_name FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name <> 'PRIMARY'",
+                String.class, table);
+    }
+}
@@ -0,0 +1,51 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 마지막 야간 배치 이후 평점이 바뀐 ISBN을 Redis Sorted Set에 기록합니다.
+ * 점수는 마지막 변경 시각(ms)이므로, 배치는 시작 시각(워터마크) 이하의 ISBN만 처리하고
+ * 커밋 후 같은 범위만 지워 배치 도중 다시 바뀐 ISBN은 다음 실행까지 남겨 둡니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DirtyIsbnRedisRepository {
+
+    public static final String KEY = "similarity:dirty-isbns";
+
+    // 값 직렬화기를 바꿔 쓰는 공용 RedisTemplate 대신 문자열 전용 템플릿 사용
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 여러 ISBN을 ZADD 한 번으로 기록
+    public void markAll(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return;
+        }
+        double now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> tuples = isbns.stream()
+                .map(isbn -> ZSetOperations.TypedTuple.of(isbn, now))
+                .collect(Collectors.toSet());
+        stringRedisTemplate.opsForZSet().add(KEY, tuples);
+    }
+
+    public Set<String> findChangedUntil(long watermark) {
+        return stringRedisTemplate.opsForZSet().rangeByScore(KEY, Double.NEGATIVE_INFINITY, watermark);
+    }
+
+    public long removeChangedUntil(long watermark) {
+        Long removed = stringRedisTemplate.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, watermark);
+        return removed == null ? 0 : removed;
+    }
+
+    public long count() {
+        Long size = stringRedisTemplate.opsForZSet().zCard(KEY);
+        return size == null ? 0 : size;
+    }
+}
@@ -0,0 +1,41 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static capstone.bookitty.global.entity.BaseEntity.MODIFIED_DATE_COLUMN;
+
+/**
+ * (isbn1, isbn2) 쌍을 키로 하는 테이블(book_similarity, book_pair_statistics)이 공유하는 SQL입니다.
+ */
+final class IsbnPairTables {
+
+    private IsbnPairTables() {
+    }
+
+    /**
+     * isbns 중 하나를 포함하는 쌍 가운데 cutoff 이전에 갱신된 행을 삭제합니다.
+     * 증분 배치가 변경된 책의 쌍을 다시 기록한 뒤, 더 이상 공동 평가되지 않는 쌍을 지우는 데 사용합니다.
+     */
+    static int deleteTouchingModifiedBefore(JdbcTemplate jdbcTemplate, String table,
+                                            Collection<String> isbns, Timestamp cutoff) {
+        if (isbns.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(isbns.size(), "?"));
+        String sql = "DELETE FROM " + table + " WHERE (isbn1 IN (" + placeholders + ") OR isbn2 IN (" + placeholders + "))"
+                + " AND " + MODIFIED_DATE_COLUMN + " < ?";
+        List<Object> args = new ArrayList<>(isbns.size() * 2 + 1);
+        args.addAll(isbns);
+        args.addAll(isbns);
+        args.add(cutoff);
+
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
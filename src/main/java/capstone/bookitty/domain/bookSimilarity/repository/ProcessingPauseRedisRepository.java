@@ -0,0 +1,40 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * 야간 배치가 실행 중임을 모든 인스턴스에 알리는 Redis 플래그입니다.
+ * 배치를 실행하는 인스턴스가 시작 시 기록하고 완료 시 지우며, 그 인스턴스가 도중에 죽어도
+ * 스트림 처리가 영원히 멈추지 않도록 TTL을 둡니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessingPauseRedisRepository {
+
+    public static final String KEY = "similarity:processing-paused";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public void pause(String owner, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(KEY, owner, ttl);
+    }
+
+    public void resume() {
+        stringRedisTemplate.delete(KEY);
+    }
+
+    /**
+     * @return 배치를 실행 중인 인스턴스 ID, 플래그가 없으면 null
+     */
+    public String owner() {
+        return stringRedisTemplate.opsForValue().get(KEY);
+    }
+
+    public boolean isPaused() {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY));
+    }
+}
@@ -0,0 +1,65 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.star.domain.StarEventOutbox;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * star_event_outbox를 릴레이하기 위해 조회/삭제합니다.
+ * 행은 평점 변경 트랜잭션에서 JPA로 기록되고, 여기서는 Redis에 기록된 뒤 ID로 지웁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StarEventOutboxJdbcRepository {
+
+    public static final String TABLE = "star_event_outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * occurredBefore 이전에 기록된 행을 오래된 순으로 잠가 조회합니다.
+     * SKIP LOCKED이므로 여러 인스턴스의 릴레이가 같은 행을 동시에 가져가지 않습니다. (트랜잭션 안에서 호출)
+     */
+    public List<OutboxEvent> findRelayableForUpdate(Timestamp occurredBefore, int limit) {
+        String sql = "SELECT id, isbn, member_id, previous_score, current_score, event_type, occurred_at, other_scores"
+                + " FROM " + TABLE + " WHERE occurred_at < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong(1),
+                new StarEventMessage(
+                        rs.getString(2),
+                        rs.getObject(3, Long.class),
+                        rs.getObject(4, Double.class),
+                        rs.getObject(5, Double.class),
+                        EventType.valueOf(rs.getString(6)),
+                        rs.getTimestamp(7).getTime(),
+                        rs.getLong(1),
+                        StarEventOutbox.parseScores(rs.getString(8)))
+        ), occurredBefore, limit);
+    }
+
+    public int deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public record OutboxEvent(long id, StarEventMessage message) {
+    }
+}
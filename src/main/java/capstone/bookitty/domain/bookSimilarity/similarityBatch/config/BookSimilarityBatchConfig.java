@@ -1,28 +1,59 @@
 package capstone.bookitty.domain.bookSimilarity.similarityBatch.config;
 
-import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarity;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityTableManager;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.BookSimilarityProcessor;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.BookSimilarityReader;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.BookSimilarityWriter;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty.DirtyBookProcessor;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty.DirtyBookReader;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty.DirtyBookWriter;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookPairDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.listener.BookSimilarityStepListener;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk.BookNeighborProcessor;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk.BookNeighborReader;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk.BookNeighborWriter;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.partition.IsbnRangePartitioner;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet.DirtyIsbnClearTasklet;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet.LshRecallReportTasklet;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet.SimilarityProductTasklet;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet.StaleSimilarityCleanupTasklet;
 import capstone.bookitty.global.config.DataDBConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.SQLException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
@@ -36,23 +67,276 @@ public class BookSimilarityBatchConfig {
     private final BookSimilarityReader bookSimilarityReader;
     private final BookSimilarityProcessor bookSimilarityProcessor;
     private final BookSimilarityWriter bookSimilarityWriter;
+    private final BookNeighborReader bookNeighborReader;
+    private final BookNeighborProcessor bookNeighborProcessor;
+    private final BookNeighborWriter bookNeighborWriter;
+    private final IsbnRangePartitioner isbnRangePartitioner;
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final StaleSimilarityCleanupTasklet staleSimilarityCleanupTasklet;
+    private final LshRecallReportTasklet lshRecallReportTasklet;
+    private final SimilarityProductTasklet similarityProductTasklet;
+    private final BookSimilarityTableManager bookSimilarityTableManager;
+    private final DirtyBookReader dirtyBookReader;
+    private final DirtyBookProcessor dirtyBookProcessor;
+    private final DirtyBookWriter dirtyBookWriter;
+    private final DirtyIsbnClearTasklet dirtyIsbnClearTasklet;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.similarity.partition.enabled:true}")
+    private boolean partitionEnabled;
+
+    @Value("${batch.similarity.partition.grid-size:4}")
+    private int gridSize;
+
+    @Value("${batch.similarity.partition.pool-size:4}")
+    private int poolSize;
+
+    // 0보다 크면 책마다 유사도 상위 K개 이웃만 저장 (0이면 기준을 넘는 모든 쌍 저장)
+    @Value("${batch.similarity.top-k:0}")
+    private int topK;
+
+    // chunk: 쌍 단위 Reader/Processor/Writer, product: Rᵀ·R 행렬 곱 엔진으로 전체 재계산
+    @Value("${batch.similarity.engine:chunk}")
+    private String engine;
+
+    // full: 전체 ISBN 재계산, dirty: 마지막 실행 이후 평점이 바뀐 책이 포함된 쌍만 재계산
+    @Value("${batch.similarity.mode:full}")
+    private String mode;
+
+    // true면 청크 안의 아이템을 Executor에서 동시에 처리하고 Writer가 Future를 모아 기록
+    @Value("${batch.similarity.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${batch.similarity.async.pool-size:4}")
+    private int asyncPoolSize;
 
     @Bean
-    public Job bookSimilarityCalculationJob(Step bookSimilarityCalculationStep) {
-        return new JobBuilder("bookSimilarityCalculationJob", jobRepository)
+    public Job bookSimilarityCalculationJob(Step bookSimilarityCalculationStep,
+                                            Step bookSimilarityPartitionStep,
+                                            Step bookSimilarityProductStep,
+                                            Step staleSimilarityCleanupStep,
+                                            Step lshRecallReportStep,
+                                            Step prepareShadowTableStep,
+                                            Step swapShadowTableStep,
+                                            Step dirtyBookSimilarityStep,
+                                            Step clearDirtyIsbnsStep) {
+        // 파티션 모드에서는 실패한 파티션만 재시작되며, 완료된 파티션은 건너뜀
+        // product 엔진은 자체 ForkJoinPool로 모든 코어를 사용하므로 파티션을 나누지 않음
+        boolean productEngine = "product".equalsIgnoreCase(engine);
+        Step calculationStep = productEngine ? bookSimilarityProductStep
+                : partitionEnabled ? bookSimilarityPartitionStep : bookSimilarityCalculationStep;
+        String calculationMode = productEngine ? "product" : partitionEnabled ? "partition" : "single";
+        boolean shadowEnabled = bookSimilarityTableManager.isShadowEnabled();
+        log.info("유사도 배치 실행 모드: {} (mode: {}, engine: {}, gridSize: {}, poolSize: {}, topK: {}, shadow: {}, async: {})",
+                calculationMode, mode, engine, gridSize, poolSize,
+                topK > 0 ? topK : "off", shadowEnabled, asyncEnabled ? asyncPoolSize : "off");
+
+        JobBuilder jobBuilder = new JobBuilder("bookSimilarityCalculationJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
-                .start(bookSimilarityCalculationStep)
+                .listener(ratingMatrixEngine); // Job 시작 시 평점 행렬 로딩, 종료 시 해제
+
+        // 증분 모드: 변경된 책의 쌍만 재계산 → 커밋 후 워터마크 이하의 변경 ISBN 정리
+        // 섀도 테이블은 전체 결과로만 만들 수 있고, Top-K는 변경되지 않은 책의 이웃 순위도 바뀌므로 전체 모드 사용
+        if ("dirty".equalsIgnoreCase(mode)) {
+            if (!shadowEnabled && topK <= 0) {
+                return jobBuilder.start(dirtyBookSimilarityStep)
+                        .next(clearDirtyIsbnsStep)
+                        .build();
+            }
+            log.warn("증분 모드는 섀도 테이블/Top-K 모드와 함께 사용할 수 없어 전체 재계산으로 실행합니다.");
+        }
+
+        // 섀도 모드: 빈 섀도 테이블 준비 → 계산/적재 → 정리 → 인덱스 생성 후 원자적 교체
+        SimpleJobBuilder flow = shadowEnabled
+                ? jobBuilder.start(prepareShadowTableStep).next(calculationStep)
+                : jobBuilder.start(calculationStep);
+        flow = flow.next(staleSimilarityCleanupStep);
+        if (shadowEnabled) {
+            flow = flow.next(swapShadowTableStep);
+        }
+
+        return flow
+                .next(lshRecallReportStep) // candidate.mode=lsh 인 경우에만 재현율 측정
+                .next(clearDirtyIsbnsStep) // 전체 재계산이 반영한 변경 ISBN도 정리
+                .build();
+    }
+
+    @Bean
+    public Step prepareShadowTableStep() {
+        return new StepBuilder("prepareShadowTableStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    bookSimilarityTableManager.prepareNextTable();
+                    return RepeatStatus.FINISHED;
+                }, dataTransactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step swapShadowTableStep() {
+        return new StepBuilder("swapShadowTableStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    bookSimilarityTableManager.swapInNextTable();
+                    return RepeatStatus.FINISHED;
+                }, dataTransactionManager)
                 .build();
     }
 
     @Bean
     public Step bookSimilarityCalculationStep() {
+        return similarityChunkStep("bookSimilarityCalculationStep");
+    }
+
+    @Bean
+    public Step bookSimilarityProductStep() {
+        return new StepBuilder("bookSimilarityProductStep", jobRepository)
+                .tasklet(similarityProductTasklet, dataTransactionManager)
+                .listener(new BookSimilarityStepListener())
+                .build();
+    }
+
+    @Bean
+    public Step dirtyBookSimilarityStep() {
+        // 아이템 하나가 책 한 권(공동 평가된 모든 쌍)이므로 Top-K 모드처럼 작은 청크 사용
+        return faultTolerant(new StepBuilder("dirtyBookSimilarityStep", jobRepository)
+                .<String, BookNeighborsDto>chunk(10, dataTransactionManager)
+                .reader(dirtyBookReader)
+                .processor(dirtyBookProcessor)
+                .writer(dirtyBookWriter));
+    }
+
+    @Bean
+    public Step clearDirtyIsbnsStep() {
+        return new StepBuilder("clearDirtyIsbnsStep", jobRepository)
+                .tasklet(dirtyIsbnClearTasklet, dataTransactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step staleSimilarityCleanupStep() {
+        return new StepBuilder("staleSimilarityCleanupStep", jobRepository)
+                .tasklet(staleSimilarityCleanupTasklet, dataTransactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step lshRecallReportStep() {
+        return new StepBuilder("lshRecallReportStep", jobRepository)
+                .tasklet(lshRecallReportTasklet, dataTransactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step bookSimilarityWorkerStep() {
+        return similarityChunkStep("bookSimilarityWorkerStep");
+    }
+
+    @Bean
+    public Step bookSimilarityPartitionStep(PartitionHandler similarityPartitionHandler) {
+        return new StepBuilder("bookSimilarityPartitionStep", jobRepository)
+                .partitioner("bookSimilarityWorkerStep", isbnRangePartitioner)
+                .partitionHandler(similarityPartitionHandler)
+                .build();
+    }
+
+    @Bean
+    public PartitionHandler similarityPartitionHandler(Step bookSimilarityWorkerStep) {
+        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        handler.setStep(bookSimilarityWorkerStep);
+        handler.setGridSize(gridSize);
+        handler.setTaskExecutor(similarityPartitionTaskExecutor());
+        return handler;
+    }
 
-        return new StepBuilder("bookSimilarityCalculationStep", jobRepository)
-                .<BookPairDto, BookSimilarity>chunk(100, dataTransactionManager)
+    // 컨테이너가 초기화/종료를 관리하도록 빈으로 등록 (@Async 기본 Executor는 AsyncConfig에서 따로 지정)
+    @Bean
+    public ThreadPoolTaskExecutor similarityPartitionTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(gridSize); // 스레드보다 파티션이 많으면 큐에서 대기
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("similarity-partition-");
+        return executor;
+    }
+
+    private Step similarityChunkStep(String stepName) {
+        int chunkSize = similarityChunkSize();
+        if (topK > 0) {
+            if (asyncEnabled) {
+                TaskExecutor executor = monitoredAsyncTaskExecutor(stepName);
+                return faultTolerant(new StepBuilder(stepName, jobRepository)
+                        .<Integer, Future<BookNeighborsDto>>chunk(chunkSize, dataTransactionManager)
+                        .reader(bookNeighborReader)
+                        .processor(asyncProcessor(bookNeighborProcessor, executor))
+                        .writer(asyncWriter(bookNeighborWriter)));
+            }
+            return faultTolerant(new StepBuilder(stepName, jobRepository)
+                    .<Integer, BookNeighborsDto>chunk(chunkSize, dataTransactionManager)
+                    .reader(bookNeighborReader)
+                    .processor(bookNeighborProcessor)
+                    .writer(bookNeighborWriter));
+        }
+        if (asyncEnabled) {
+            TaskExecutor executor = monitoredAsyncTaskExecutor(stepName);
+            return faultTolerant(new StepBuilder(stepName, jobRepository)
+                    .<BookPairDto, Future<BookSimilarityResult>>chunk(chunkSize, dataTransactionManager)
+                    .reader(bookSimilarityReader)
+                    .processor(asyncProcessor(bookSimilarityProcessor, executor))
+                    .writer(asyncWriter(bookSimilarityWriter)));
+        }
+        return faultTolerant(new StepBuilder(stepName, jobRepository)
+                .<BookPairDto, BookSimilarityResult>chunk(chunkSize, dataTransactionManager)
                 .reader(bookSimilarityReader)
                 .processor(bookSimilarityProcessor)
-                .writer(bookSimilarityWriter)
+                .writer(bookSimilarityWriter));
+    }
+
+    // Top-K 모드는 아이템 하나가 책 한 권(최대 K개 이웃)이므로 청크 크기를 그만큼 줄임
+    private int similarityChunkSize() {
+        return topK > 0 ? Math.max(1, 100 / topK) : 100;
+    }
+
+    /**
+     * 청크 안의 아이템을 동시에 처리할 Executor입니다.
+     * 큐는 청크 하나 분량으로 제한하고, 가득 차면 읽기 스레드가 직접 처리(CallerRuns)하여 역압을 겁니다.
+     * Reader/Writer와 트랜잭션은 그대로 청크 스레드에 남으므로 청크 단위 커밋/롤백은 유지됩니다.
+     * 단일/파티션 Step은 한 Job에서 둘 중 하나만 실행되므로 하나를 공유하며, 종료는 컨테이너가 맡습니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor similarityAsyncTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setQueueCapacity(similarityChunkSize());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("similarity-async-");
+        return executor;
+    }
+
+    // executor.pool.size, executor.queued, executor(작업 시간) 등을 name 태그로 노출
+    private TaskExecutor monitoredAsyncTaskExecutor(String stepName) {
+        return new TaskExecutorAdapter(ExecutorServiceMetrics.monitor(
+                meterRegistry, similarityAsyncTaskExecutor().getThreadPoolExecutor(), "similarity.async." + stepName));
+    }
+
+    private <I, O> ItemProcessor<I, Future<O>> asyncProcessor(ItemProcessor<I, O> delegate, TaskExecutor executor) {
+        // 작업마다 StepExecution을 등록하므로 @StepScope Processor도 작업 스레드에서 사용 가능
+        AsyncItemProcessor<I, O> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(delegate);
+        processor.setTaskExecutor(executor);
+        return processor;
+    }
+
+    private <T> ItemWriter<Future<T>> asyncWriter(ItemWriter<T> delegate) {
+        // Future를 모두 기다린 뒤 위임 Writer로 한 번에 기록하며, 처리 중 예외는 여기서 다시 던져짐
+        AsyncItemWriter<T> writer = new AsyncItemWriter<>();
+        writer.setDelegate(delegate);
+        return writer;
+    }
+
+    private <I, O> Step faultTolerant(SimpleStepBuilder<I, O> builder) {
+        return builder
                 .faultTolerant()
 
                 .retryLimit(3)
@@ -67,7 +351,6 @@ public class BookSimilarityBatchConfig {
 
                 .listener(new BookSimilarityStepListener())
                 .build();
-
     }
 
 }
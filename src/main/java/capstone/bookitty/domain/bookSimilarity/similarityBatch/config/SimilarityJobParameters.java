@@ -0,0 +1,28 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.config;
+
+import org.springframework.batch.core.JobExecution;
+
+import java.sql.Timestamp;
+
+/**
+ * 유사도 Job의 여러 Step이 같은 기준으로 해석해야 하는 Job 파라미터를 모아 둡니다.
+ */
+public final class SimilarityJobParameters {
+
+    public static final String TIMESTAMP = "timestamp";
+
+    private SimilarityJobParameters() {
+    }
+
+    /**
+     * 이번 세대(JobInstance)의 시작 시각입니다. 스케줄러가 넘기는 timestamp 파라미터를 우선 사용하므로
+     * 재시작해도 같은 값이 되며, 파라미터가 없으면 JobExecution 생성 시각을 사용합니다.
+     */
+    public static Timestamp generationStart(JobExecution jobExecution) {
+        Long timestamp = jobExecution.getJobParameters().getLong(TIMESTAMP);
+        if (timestamp != null) {
+            return new Timestamp(timestamp);
+        }
+        return Timestamp.valueOf(jobExecution.getCreateTime());
+    }
+}
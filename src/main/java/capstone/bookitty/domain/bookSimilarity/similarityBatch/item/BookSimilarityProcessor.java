@@ -1,8 +1,8 @@
 package capstone.bookitty.domain.bookSimilarity.similarityBatch.item;
 
-import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
-import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarity;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookPairDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemProcessor;
@@ -11,17 +11,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class BookSimilarityProcessor implements ItemProcessor<BookPairDto, BookSimilarity> {
+public class BookSimilarityProcessor implements ItemProcessor<BookPairDto, BookSimilarityResult> {
 
-    private final BookSimilarityService bookSimilarityService;
+    private final RatingMatrixEngine ratingMatrixEngine;
 
     @Override
-    public BookSimilarity process(BookPairDto bookPair) {
-        // Redis 캐시를 사용하므로 로컬 캐시 제거
-        return bookSimilarityService.calculateAndSaveSimilarity(
-            bookPair.isbn1(), 
+    public BookSimilarityResult process(BookPairDto bookPair) {
+        // Job 시작 시 메모리에 올린 평점 행렬에서 계산하므로 쌍마다 Redis/DB 호출이 없음
+        return ratingMatrixEngine.similarity(
+            bookPair.isbn1(),
             bookPair.isbn2()
         );
     }
 
-}
\ No newline at end of file
+}
@@ -1,66 +1,156 @@
 package capstone.bookitty.domain.bookSimilarity.similarityBatch.item;
 
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator.Candidates;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
 import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookPairDto;
-import capstone.bookitty.domain.star.repository.StarRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
-
+/**
+ * 평점 행렬의 책 인덱스 i와 그 책의 공동 평가 후보 목록 안의 위치 j로 이루어진 커서를 움직이며
+ * 실제로 함께 평가된 책 쌍만 하나씩 생성합니다.
+ *
+ * 커서는 청크 커밋마다 ExecutionContext(메타 DB)에 저장되어 재시작 시 마지막 커밋 위치부터 이어집니다.
+ * 재시작하면 평점 행렬을 다시 읽으므로 인덱스 대신 ISBN(기준 책, 마지막으로 내보낸 상대 책)을 저장하고,
+ * 그 사이 책이 추가/삭제되었더라도 ISBN 순서상 다음 쌍부터 이어갑니다.
+ */
 @Slf4j
 @Component
+@StepScope
 @RequiredArgsConstructor
-public class BookSimilarityReader implements ItemReader<BookPairDto> {
+public class BookSimilarityReader implements ItemStreamReader<BookPairDto> {
 
-    private final StarRepository starRepository;
-    private Iterator<BookPairDto> bookPairIterator;
-    private boolean initialized = false;
+    static final String CURSOR_ISBN_KEY = "bookSimilarityReader.isbn";
+    static final String CURSOR_OTHER_ISBN_KEY = "bookSimilarityReader.otherIsbn";
+    static final String FINISHED_KEY = "bookSimilarityReader.finished";
 
-    @Override
-    public BookPairDto read() {
-        if (!initialized) {
-            initializeBookPairs();
-            initialized = true;
-        }
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final CandidateGeneratorFactory candidateGeneratorFactory;
 
-        return bookPairIterator.hasNext() ? bookPairIterator.next() : null;
-    }
+    // 파티션 모드에서 이 Reader가 담당하는 첫 번째 책의 ISBN 범위 [minIsbn, maxIsbn)
+    @Value("#{stepExecutionContext['minIsbn']}")
+    private String minIsbn;
 
-    private void initializeBookPairs() {
-        log.info("=== 책 간 유사도 계산을 위한 책 쌍 초기화 시작 ===");
+    @Value("#{stepExecutionContext['maxIsbn']}")
+    private String maxIsbn;
 
-        // 평점이 3개 이상 있는 책들만 조회 (유의미한 유사도 계산을 위해)
-        List<String> validIsbns = starRepository.findIsbnsWithMinimumRatings(3);
-        log.info("유효한 책 수 (평점 3개 이상): {} 권", validIsbns.size());
+    // 후보 생성 방식 (exact: 공동 평가된 모든 쌍, lsh: MinHash/LSH 근사 후보)
+    @Value("#{jobParameters['candidate.mode'] ?: 'exact'}")
+    private String candidateMode;
 
-        if (validIsbns.size() < 2) {
-            log.warn("유사도 계산할 책이 부족합니다. 최소 2권 이상 필요합니다.");
-            this.bookPairIterator = Collections.emptyIterator();
-            return;
+    @Value("#{jobParameters['lsh.bands'] ?: 32}")
+    private int lshBands;
+
+    @Value("#{jobParameters['lsh.rows'] ?: 2}")
+    private int lshRows;
+
+    private RatingMatrix matrix;
+    private CandidateGenerator candidateGenerator;
+    private Candidates candidates;
+    private int endIndex;
+    private int i;
+    private int j;
+
+    // 재시작 시 기준 책의 후보 중 이 ISBN 다음부터 이어감
+    private String resumeAfterIsbn;
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        log.info("=== 책 쌍 커서 초기화 시작 (범위: [{}, {}), 후보 방식: {}) ===", minIsbn, maxIsbn, candidateMode);
+
+        this.matrix = ratingMatrixEngine.matrix();
+        this.candidateGenerator = candidateGeneratorFactory.create(matrix, candidateMode, lshBands, lshRows);
+
+        int startIndex = minIsbn == null ? 0 : matrix.lowerBound(minIsbn);
+        this.endIndex = maxIsbn == null ? matrix.bookCount() : matrix.lowerBound(maxIsbn);
+
+        this.j = 0;
+        this.resumeAfterIsbn = null;
+        if (executionContext.containsKey(FINISHED_KEY)) {
+            this.i = endIndex;
+        } else if (executionContext.containsKey(CURSOR_ISBN_KEY)) {
+            String isbn = executionContext.getString(CURSOR_ISBN_KEY);
+            this.i = Math.max(startIndex, matrix.lowerBound(isbn));
+            // 기준 책이 그대로 있을 때만 상대 책 위치를 이어받음 (사라졌으면 다음 책의 처음부터)
+            if (i < endIndex && matrix.isbn(i).equals(isbn)) {
+                this.resumeAfterIsbn = executionContext.getString(CURSOR_OTHER_ISBN_KEY, null);
+            }
+            log.info("저장된 커서에서 재시작: (ISBN: {}, 상대 ISBN: {}) → i: {}", isbn, resumeAfterIsbn, i);
+        } else {
+            this.i = startIndex;
         }
 
-        // 모든 책 쌍 생성
-        List<BookPairDto> bookPairs = generateBookPairs(validIsbns);
-        log.info("생성된 책 쌍 수: {} 개", bookPairs.size());
-        log.info("=== 책 쌍 초기화 완료 ===");
+        log.info("담당 책 수: {} 권 (전체 {} 권)", endIndex - startIndex, matrix.bookCount());
+        log.info("=== 책 쌍 커서 초기화 완료 ===");
+    }
 
-        this.bookPairIterator = bookPairs.iterator();
+    @Override
+    public BookPairDto read() {
+        while (i < endIndex) {
+            if (candidates == null) {
+                candidates = candidateGenerator.generate(i);
+                if (resumeAfterIsbn != null) {
+                    j = positionAfter(candidates, resumeAfterIsbn);
+                    resumeAfterIsbn = null;
+                }
+            }
+            if (j < candidates.size()) {
+                int other = candidates.books()[j];
+                int commonUsers = candidates.commonUsers()[j];
+                j++;
+                return BookPairDto.of(matrix.isbn(i), matrix.isbn(other), commonUsers);
+            }
+            i++;
+            j = 0;
+            candidates = null;
+        }
+        return null;
     }
 
-    private List<BookPairDto> generateBookPairs(List<String> isbns) {
-        List<BookPairDto> pairs = new ArrayList<>();
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (i >= endIndex) {
+            executionContext.putString(FINISHED_KEY, "true");
+            return;
+        }
+        executionContext.putString(CURSOR_ISBN_KEY, matrix.isbn(i));
+        if (candidates != null && j > 0) {
+            executionContext.putString(CURSOR_OTHER_ISBN_KEY, matrix.isbn(candidates.books()[j - 1]));
+        } else if (resumeAfterIsbn != null) {
+            executionContext.putString(CURSOR_OTHER_ISBN_KEY, resumeAfterIsbn);
+        } else {
+            executionContext.remove(CURSOR_OTHER_ISBN_KEY);
+        }
+    }
 
-        for (int i = 0; i < isbns.size(); i++) {
-            for (int j = i + 1; j < isbns.size(); j++) {
-                pairs.add(BookPairDto.of(isbns.get(i), isbns.get(j)));
+    // 후보는 책 인덱스(= ISBN) 오름차순이므로 otherIsbn보다 큰 첫 후보 위치를 이분 탐색
+    private int positionAfter(Candidates candidates, String otherIsbn) {
+        int[] books = candidates.books();
+        int low = 0;
+        int high = books.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (matrix.isbn(books[mid]).compareTo(otherIsbn) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
+        return low;
+    }
 
-        return pairs;
+    @Override
+    public void close() {
+        this.matrix = null;
+        this.candidateGenerator = null;
+        this.candidates = null;
     }
-}
\ No newline at end of file
+}
@@ -1,37 +1,70 @@
 package capstone.bookitty.domain.bookSimilarity.similarityBatch.item;
 
-import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarity;
-import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityRepository;
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityTableManager;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class BookSimilarityWriter implements ItemWriter<BookSimilarity> {
+public class BookSimilarityWriter implements ItemWriter<BookSimilarityResult> {
 
-    private final BookSimilarityRepository bookSimilarityRepository;
+    private final BookSimilarityJdbcRepository bookSimilarityJdbcRepository;
+    private final BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository;
+    private final BookSimilarityTableManager bookSimilarityTableManager;
 
     @Override
-    public void write(Chunk<? extends BookSimilarity> chunk) {
-        // null이 아닌 유효한 유사도 데이터만 필터링
-        List<BookSimilarity> validSimilarities = chunk.getItems().stream()
-                .filter(similarity -> similarity != null)
-                .collect(Collectors.toList());
+    public void write(Chunk<? extends BookSimilarityResult> chunk) {
+        write(chunk, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * @param modifiedAt 저장하는 유사도/통계 행에 기록할 수정 시각
+     */
+    public void write(Chunk<? extends BookSimilarityResult> chunk, Timestamp modifiedAt) {
+        List<BookSimilarityResult> validSimilarities = new ArrayList<>();
+        List<BookSimilarityResult> droppedSimilarities = new ArrayList<>();
+        List<BookPairStatistics> statistics = new ArrayList<>(chunk.size());
+
+        // 필터링 규칙을 통과한 유사도는 저장, 기준 미달 쌍은 기존 데이터가 있다면 삭제
+        for (BookSimilarityResult result : chunk.getItems()) {
+            // 실시간 증분 갱신의 기준점이 되도록 유사도 저장 여부와 무관하게 통계를 덮어씀
+            if (result.commonUsers() > 0) {
+                statistics.add(result.toStatistics());
+            }
+            if (result.isRetained()) {
+                validSimilarities.add(result);
+            } else {
+                droppedSimilarities.add(result);
+            }
+        }
+
+        bookPairStatisticsJdbcRepository.upsertAll(statistics, modifiedAt);
+
+        // 섀도 테이블은 이번 실행의 결과만 담기므로 지울 기존 행이 없음
+        String table = bookSimilarityTableManager.batchTargetTable();
+        int deleted = bookSimilarityTableManager.isShadowEnabled()
+                ? 0 : bookSimilarityJdbcRepository.deleteAll(table, droppedSimilarities);
 
         if (validSimilarities.isEmpty()) {
-            log.debug("저장할 유효한 유사도 데이터가 없습니다.");
+            log.debug("저장할 유효한 유사도 데이터가 없습니다. (삭제: {}개)", deleted);
             return;
         }
 
-        bookSimilarityRepository.saveAll(validSimilarities);
-        log.info("유사도 데이터 저장 완료: {}개", validSimilarities.size());
+        bookSimilarityJdbcRepository.upsertAll(table, validSimilarities, modifiedAt);
+        log.info("유사도 데이터 저장 완료: {}개 (삭제: {}개)", validSimilarities.size(), deleted);
     }
 
 }
@@ -0,0 +1,43 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator;
+
+import lombok.Getter;
+
+/**
+ * 병합 조인 한 번으로 구한 공통 평가자 수, 내적, 벡터 크기 제곱을 담습니다.
+ * 쌍마다 새로 만들지 않고 스레드별로 재사용하기 위해 가변 객체로 둡니다.
+ */
+@Getter
+public class CosineAccumulator {
+
+    private int commonUsers;
+    private double dotProduct;
+    private double magnitude1;
+    private double magnitude2;
+
+    void reset() {
+        commonUsers = 0;
+        dotProduct = 0.0;
+        magnitude1 = 0.0;
+        magnitude2 = 0.0;
+    }
+
+    void add(double rating1, double rating2) {
+        commonUsers++;
+        dotProduct += rating1 * rating2;
+        magnitude1 += rating1 * rating1;
+        magnitude2 += rating2 * rating2;
+    }
+
+    /**
+     * @return 코사인 유사도 (-1.0 ~ 1.0), 벡터 크기가 0이면 0.0
+     */
+    public double similarity() {
+        // 분모가 0인 경우 처리 (벡터의 크기가 0인 경우)
+        if (magnitude1 == 0.0 || magnitude2 == 0.0) {
+            return 0.0;
+        }
+
+        // 코사인 유사도 = 내적 / (||A|| * ||B||), 부동소수점 오차로 1.0을 넘지 않도록 보정
+        return Math.min(1.0, dotProduct / (Math.sqrt(magnitude1) * Math.sqrt(magnitude2)));
+    }
+}
@@ -2,6 +2,7 @@ package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator;
 
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -10,6 +11,7 @@ public class CosineSimilarityCalculator {
 
     /**
      * 두 평점 맵에 대한 코사인 유사도를 계산합니다.
+     * 정렬된 벡터 API로 위임하는 어댑터이며, 공통 사용자 집합에 속한 평점만 사용합니다.
      *
      * @param ratings1    첫 번째 아이템의 평점 맵
      * @param ratings2    두 번째 아이템의 평점 맵
@@ -24,27 +26,87 @@ public class CosineSimilarityCalculator {
             return 0.0;
         }
 
-        double dotProduct = 0.0;
-        double magnitude1 = 0.0;
-        double magnitude2 = 0.0;
+        RatingVector vector1 = RatingVector.from(restrict(ratings1, commonUsers));
+        RatingVector vector2 = RatingVector.from(restrict(ratings2, commonUsers));
 
-        // 벡터의 내적과 크기 계산
-        for (Long userId : commonUsers) {
-            double rating1 = ratings1.get(userId);
-            double rating2 = ratings2.get(userId);
+        return accumulate(vector1, vector2, new CosineAccumulator()).similarity();
+    }
+
+    /**
+     * 회원 ID로 정렬된 두 평점 벡터를 병합 조인하여, 공통 평가자 탐색과 내적/크기 계산을
+     * 한 번의 순회로 끝냅니다. 결과는 전달받은 accumulator에 기록하므로 호출 중 객체를 생성하지 않습니다.
+     *
+     * @param vector1     첫 번째 아이템의 평점 벡터
+     * @param vector2     두 번째 아이템의 평점 벡터
+     * @param accumulator 결과를 기록할 재사용 객체 (호출 시 초기화됨)
+     * @return 전달받은 accumulator
+     */
+    public CosineAccumulator accumulate(RatingVector vector1,
+                                        RatingVector vector2,
+                                        CosineAccumulator accumulator) {
+        return accumulate(
+                vector1.memberIds(), vector1.scores(), 0, vector1.size(),
+                vector2.memberIds(), vector2.scores(), 0, vector2.size(),
+                accumulator);
+    }
+
+    /**
+     * long 회원 ID 배열 구간 [from, to)에 대한 병합 조인 버전입니다.
+     */
+    public CosineAccumulator accumulate(long[] members1, float[] scores1, int from1, int to1,
+                                        long[] members2, float[] scores2, int from2, int to2,
+                                        CosineAccumulator accumulator) {
+        accumulator.reset();
+        int p = from1;
+        int q = from2;
 
-            dotProduct += rating1 * rating2;
-            magnitude1 += rating1 * rating1;
-            magnitude2 += rating2 * rating2;
+        while (p < to1 && q < to2) {
+            long member1 = members1[p];
+            long member2 = members2[q];
+            if (member1 < member2) {
+                p++;
+            } else if (member1 > member2) {
+                q++;
+            } else {
+                accumulator.add(scores1[p++], scores2[q++]);
+            }
         }
+        return accumulator;
+    }
 
-        // 분모가 0인 경우 처리 (벡터의 크기가 0인 경우)
-        if (magnitude1 == 0.0 || magnitude2 == 0.0) {
-            return 0.0;
+    /**
+     * 평점 행렬의 dense int 회원 인덱스 배열 구간 [from, to)에 대한 병합 조인 버전입니다.
+     */
+    public CosineAccumulator accumulate(int[] members1, float[] scores1, int from1, int to1,
+                                        int[] members2, float[] scores2, int from2, int to2,
+                                        CosineAccumulator accumulator) {
+        accumulator.reset();
+        int p = from1;
+        int q = from2;
+
+        while (p < to1 && q < to2) {
+            int member1 = members1[p];
+            int member2 = members2[q];
+            if (member1 < member2) {
+                p++;
+            } else if (member1 > member2) {
+                q++;
+            } else {
+                accumulator.add(scores1[p++], scores2[q++]);
+            }
         }
+        return accumulator;
+    }
 
-        // 코사인 유사도 = 내적 / (||A|| * ||B||)
-        return dotProduct / (Math.sqrt(magnitude1) * Math.sqrt(magnitude2));
+    private Map<Long, Double> restrict(Map<Long, Double> ratings, Set<Long> commonUsers) {
+        Map<Long, Double> restricted = new HashMap<>();
+        for (Long userId : commonUsers) {
+            Double rating = ratings.get(userId);
+            if (rating != null) {
+                restricted.put(userId, rating);
+            }
+        }
+        return restricted;
     }
 
 }
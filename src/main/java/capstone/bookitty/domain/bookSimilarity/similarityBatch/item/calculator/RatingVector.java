@@ -0,0 +1,60 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 회원 ID 오름차순으로 정렬된 한 책의 평점 벡터입니다.
+ */
+public record RatingVector(long[] memberIds, float[] scores) {
+
+    public static final RatingVector EMPTY = new RatingVector(new long[0], new float[0]);
+
+    /**
+     * 회원 ID → 평점 맵을 정렬된 벡터로 변환합니다.
+     * Redis 캐시에서 역직렬화된 맵은 키가 문자열일 수 있으므로 숫자/문자열 키를 모두 허용합니다.
+     */
+    public static RatingVector from(Map<?, ? extends Number> ratings) {
+        if (ratings == null || ratings.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] memberIds = new long[ratings.size()];
+        float[] scores = new float[ratings.size()];
+        boolean sorted = true;
+        int size = 0;
+        for (Map.Entry<?, ? extends Number> entry : ratings.entrySet()) {
+            memberIds[size] = toMemberId(entry.getKey());
+            scores[size] = entry.getValue().floatValue();
+            sorted &= size == 0 || memberIds[size - 1] < memberIds[size];
+            size++;
+        }
+        if (sorted) {
+            return new RatingVector(memberIds, scores);
+        }
+
+        // 박싱된 인덱스 배열 없이 ID만 기본형으로 정렬한 뒤, 평점은 정렬된 ID 위치를 찾아 옮김 (맵 키는 중복되지 않음)
+        long[] sortedIds = memberIds.clone();
+        Arrays.sort(sortedIds);
+        float[] sortedScores = new float[size];
+        for (int k = 0; k < size; k++) {
+            sortedScores[Arrays.binarySearch(sortedIds, memberIds[k])] = scores[k];
+        }
+        return new RatingVector(sortedIds, sortedScores);
+    }
+
+    public int size() {
+        return memberIds.length;
+    }
+
+    public boolean isEmpty() {
+        return memberIds.length == 0;
+    }
+
+    private static long toMemberId(Object key) {
+        if (key instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(String.valueOf(key));
+    }
+}
@@ -0,0 +1,29 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate;
+
+/**
+ * 평점 행렬의 한 책에 대해 정확한 코사인 계산으로 넘길 이웃 후보를 만듭니다.
+ * 구현체는 내부 배열을 재사용하므로 스레드마다(Reader/Processor마다) 별도 인스턴스를 사용해야 합니다.
+ */
+public interface CandidateGenerator {
+
+    /**
+     * @param book 기준 책 인덱스
+     * @return 기준 책보다 뒤에 있는 후보 (책 인덱스 오름차순)
+     */
+    Candidates generate(int book);
+
+    /**
+     * @param book 기준 책 인덱스
+     * @return 기준 책 앞뒤를 모두 포함한 후보 (책 인덱스 오름차순)
+     */
+    Candidates generateAll(int book);
+
+    record Candidates(int[] books, int[] commonUsers) {
+
+        static final Candidates EMPTY = new Candidates(new int[0], new int[0]);
+
+        public int size() {
+            return books.length;
+        }
+    }
+}
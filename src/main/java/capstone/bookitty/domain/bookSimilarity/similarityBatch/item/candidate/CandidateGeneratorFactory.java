@@ -0,0 +1,40 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job 파라미터(candidate.mode)에 따라 후보 생성기를 만듭니다.
+ * <ul>
+ *     <li>exact (기본값): 공동 평가된 모든 쌍</li>
+ *     <li>lsh: MinHash/LSH 버킷을 공유하는 쌍만 (lsh.bands, lsh.rows로 재현율/속도 조절)</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class CandidateGeneratorFactory {
+
+    public static final String MODE_PARAMETER = "candidate.mode";
+    public static final String BANDS_PARAMETER = "lsh.bands";
+    public static final String ROWS_PARAMETER = "lsh.rows";
+
+    public static final String EXACT_MODE = "exact";
+    public static final String LSH_MODE = "lsh";
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+
+    public CandidateGenerator create(RatingMatrix matrix, String mode, int bands, int rows) {
+        if (isLsh(mode)) {
+            MinHashLshIndex index = ratingMatrixEngine.lshIndex(bands, rows);
+            return new MinHashLshCandidateGenerator(matrix, index, BookSimilarityService.MIN_COMMON_USERS);
+        }
+        return new CoOccurrenceCandidateGenerator(matrix, BookSimilarityService.MIN_COMMON_USERS);
+    }
+
+    public static boolean isLsh(String mode) {
+        return LSH_MODE.equalsIgnoreCase(mode);
+    }
+}
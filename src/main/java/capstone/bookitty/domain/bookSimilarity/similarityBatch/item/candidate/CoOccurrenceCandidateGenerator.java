@@ -0,0 +1,100 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+
+import java.util.Arrays;
+
+/**
+ * 회원 → 책 역색인(RatingMatrix의 회원 기준 행)을 따라가며 실제로 함께 평가된 책 쌍만 찾습니다.
+ * 책 a를 평가한 회원들이 평가한 다른 책 b(> a)마다 공통 평가자 수를 누적하므로,
+ * 비용은 책 수의 제곱이 아니라 공동 평가 횟수에 비례합니다.
+ */
+public class CoOccurrenceCandidateGenerator implements CandidateGenerator {
+
+    private final RatingMatrix matrix;
+    private final int minCommonUsers;
+    private final int[] commonCounts;
+    private final int[] touchedBooks;
+
+    public CoOccurrenceCandidateGenerator(RatingMatrix matrix, int minCommonUsers) {
+        this.matrix = matrix;
+        this.minCommonUsers = minCommonUsers;
+        this.commonCounts = new int[matrix.bookCount()];
+        this.touchedBooks = new int[matrix.bookCount()];
+    }
+
+    /**
+     * 공통 평가자가 minCommonUsers 이상인 쌍만 후보로 반환합니다.
+     */
+    @Override
+    public Candidates generate(int book) {
+        return collect(book, false);
+    }
+
+    /**
+     * Top-K 모드처럼 한 책의 이웃 전체가 필요할 때 사용합니다.
+     */
+    @Override
+    public Candidates generateAll(int book) {
+        return collect(book, true);
+    }
+
+    private Candidates collect(int book, boolean bothDirections) {
+        // 평점 수가 기준 미만인 책은 어떤 쌍도 기준을 넘을 수 없음
+        if (matrix.bookEnd(book) - matrix.bookStart(book) < minCommonUsers) {
+            return Candidates.EMPTY;
+        }
+
+        int[] bookMembers = matrix.bookMembers();
+        int[] memberBooks = matrix.memberBooks();
+        int touched = 0;
+
+        for (int k = matrix.bookStart(book); k < matrix.bookEnd(book); k++) {
+            int member = bookMembers[k];
+            int end = matrix.memberEnd(member);
+            // 회원별 책 목록은 정렬되어 있으므로 기준 책 바로 다음부터 순회 (양방향이면 처음부터)
+            int position = bothDirections
+                    ? matrix.memberStart(member)
+                    : Arrays.binarySearch(memberBooks, matrix.memberStart(member), end, book) + 1;
+
+            for (int p = position; p < end; p++) {
+                int other = memberBooks[p];
+                if (other == book) {
+                    continue;
+                }
+                if (commonCounts[other]++ == 0) {
+                    touchedBooks[touched++] = other;
+                }
+            }
+        }
+
+        int size = 0;
+        for (int t = 0; t < touched; t++) {
+            if (commonCounts[touchedBooks[t]] >= minCommonUsers) {
+                size++;
+            }
+        }
+
+        int[] books = new int[size];
+        int index = 0;
+        for (int t = 0; t < touched; t++) {
+            int other = touchedBooks[t];
+            if (commonCounts[other] >= minCommonUsers) {
+                books[index++] = other;
+            }
+        }
+        Arrays.sort(books);
+
+        int[] counts = new int[size];
+        for (int c = 0; c < size; c++) {
+            counts[c] = commonCounts[books[c]];
+        }
+
+        // 다음 호출을 위해 사용한 칸만 초기화
+        for (int t = 0; t < touched; t++) {
+            commonCounts[touchedBooks[t]] = 0;
+        }
+
+        return new Candidates(books, counts);
+    }
+}
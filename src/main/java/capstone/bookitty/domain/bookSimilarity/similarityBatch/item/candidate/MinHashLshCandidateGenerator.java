@@ -0,0 +1,100 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+
+import java.util.Arrays;
+
+/**
+ * MinHash/LSH 버킷을 공유하는 책만 후보로 만드는 근사 후보 생성기입니다.
+ * 공동 평가 전체를 훑지 않으므로 대규모 카탈로그에서 비용이 버킷 크기에 비례하며,
+ * 일부 유사 쌍을 놓칠 수 있습니다. (재현율은 LshRecallReportTasklet으로 확인)
+ *
+ * 버킷을 공유한 책은 평점 행을 병합하여 공통 평가자 수가 minCommonUsers 이상인 경우만 반환합니다.
+ */
+public class MinHashLshCandidateGenerator implements CandidateGenerator {
+
+    private final RatingMatrix matrix;
+    private final MinHashLshIndex index;
+    private final int minCommonUsers;
+    private final boolean[] seen;
+    private final int[] touchedBooks;
+
+    public MinHashLshCandidateGenerator(RatingMatrix matrix, MinHashLshIndex index, int minCommonUsers) {
+        this.matrix = matrix;
+        this.index = index;
+        this.minCommonUsers = minCommonUsers;
+        this.seen = new boolean[matrix.bookCount()];
+        this.touchedBooks = new int[matrix.bookCount()];
+    }
+
+    @Override
+    public Candidates generate(int book) {
+        return collect(book, false);
+    }
+
+    @Override
+    public Candidates generateAll(int book) {
+        return collect(book, true);
+    }
+
+    //== private methods ==//
+
+    private Candidates collect(int book, boolean bothDirections) {
+        if (matrix.bookEnd(book) - matrix.bookStart(book) < minCommonUsers) {
+            return Candidates.EMPTY;
+        }
+
+        int touched = 0;
+        for (int band = 0; band < index.bands(); band++) {
+            long key = index.bandKey(book, band);
+            int size = index.size(band);
+            for (int p = index.bucketStart(band, key); p < size && index.sortedKey(band, p) == key; p++) {
+                int other = index.sortedBook(band, p);
+                if (other == book || (!bothDirections && other < book) || seen[other]) {
+                    continue;
+                }
+                seen[other] = true;
+                touchedBooks[touched++] = other;
+            }
+        }
+
+        int[] touchedSorted = Arrays.copyOf(touchedBooks, touched);
+        Arrays.sort(touchedSorted);
+
+        int[] books = new int[touched];
+        int[] counts = new int[touched];
+        int size = 0;
+        for (int other : touchedSorted) {
+            seen[other] = false;
+            int commonUsers = countCommonUsers(book, other);
+            if (commonUsers >= minCommonUsers) {
+                books[size] = other;
+                counts[size++] = commonUsers;
+            }
+        }
+
+        return new Candidates(Arrays.copyOf(books, size), Arrays.copyOf(counts, size));
+    }
+
+    private int countCommonUsers(int book1, int book2) {
+        int[] members = matrix.bookMembers();
+        int p = matrix.bookStart(book1);
+        int q = matrix.bookStart(book2);
+        int end1 = matrix.bookEnd(book1);
+        int end2 = matrix.bookEnd(book2);
+        int common = 0;
+
+        while (p < end1 && q < end2) {
+            if (members[p] < members[q]) {
+                p++;
+            } else if (members[p] > members[q]) {
+                q++;
+            } else {
+                common++;
+                p++;
+                q++;
+            }
+        }
+        return common;
+    }
+}
@@ -0,0 +1,163 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 책마다 평가자 집합의 MinHash 서명을 만들고, 서명을 bands × rows로 나눈 LSH 버킷 색인입니다.
+ * 어느 한 밴드라도 서명이 같으면 후보가 되므로, Jaccard 유사도 s인 두 책이 후보가 될 확률은
+ * 1 - (1 - s^rows)^bands 입니다. bands를 늘리면 재현율이, rows를 늘리면 선택도가 올라갑니다.
+ *
+ * 생성 후에는 읽기 전용이므로 파티션 워커 스레드가 공유합니다.
+ */
+public final class MinHashLshIndex {
+
+    // 실행마다 같은 후보가 나오도록 해시 시드를 고정
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int bands;
+    private final int rows;
+
+    // bookBandKeys[book * bands + band]: 책의 밴드 서명 해시
+    private final long[] bookBandKeys;
+
+    // 밴드별로 해시 기준 정렬한 책 목록 (같은 해시가 연속 구간 = 버킷)
+    private final long[][] sortedKeys;
+    private final int[][] sortedBooks;
+
+    private MinHashLshIndex(int bands, int rows, long[] bookBandKeys, long[][] sortedKeys, int[][] sortedBooks) {
+        this.bands = bands;
+        this.rows = rows;
+        this.bookBandKeys = bookBandKeys;
+        this.sortedKeys = sortedKeys;
+        this.sortedBooks = sortedBooks;
+    }
+
+    public static MinHashLshIndex build(RatingMatrix matrix, int bands, int rows) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("LSH bands and rows must be positive");
+        }
+
+        int hashCount = bands * rows;
+        long[] multipliers = new long[hashCount];
+        long[] offsets = new long[hashCount];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int h = 0; h < hashCount; h++) {
+            multipliers[h] = random.nextLong() | 1L;
+            offsets[h] = random.nextLong();
+        }
+
+        int bookCount = matrix.bookCount();
+        int[] bookMembers = matrix.bookMembers();
+        long[] signature = new long[hashCount];
+        long[] bookBandKeys = new long[bookCount * bands];
+
+        for (int book = 0; book < bookCount; book++) {
+            Arrays.fill(signature, Long.MAX_VALUE);
+            for (int k = matrix.bookStart(book); k < matrix.bookEnd(book); k++) {
+                int member = bookMembers[k];
+                for (int h = 0; h < hashCount; h++) {
+                    long value = mix(member * multipliers[h] + offsets[h]);
+                    if (value < signature[h]) {
+                        signature[h] = value;
+                    }
+                }
+            }
+
+            for (int band = 0; band < bands; band++) {
+                long key = band;
+                for (int r = 0; r < rows; r++) {
+                    key = key * 0x9E3779B97F4A7C15L + signature[band * rows + r];
+                }
+                bookBandKeys[book * bands + band] = mix(key);
+            }
+        }
+
+        long[][] sortedKeys = new long[bands][];
+        int[][] sortedBooks = new int[bands][];
+        for (int band = 0; band < bands; band++) {
+            sortBand(bookBandKeys, bookCount, bands, band, sortedKeys, sortedBooks);
+        }
+
+        return new MinHashLshIndex(bands, rows, bookBandKeys, sortedKeys, sortedBooks);
+    }
+
+    public int bands() {
+        return bands;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * 후보가 될 확률이 1/2이 되는 대략적인 Jaccard 유사도 (1/bands)^(1/rows)
+     */
+    public double threshold() {
+        return Math.pow(1.0 / bands, 1.0 / rows);
+    }
+
+    long bandKey(int book, int band) {
+        return bookBandKeys[book * bands + band];
+    }
+
+    /**
+     * @return 밴드 안에서 key 버킷이 시작하는 위치
+     */
+    int bucketStart(int band, long key) {
+        long[] keys = sortedKeys[band];
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long sortedKey(int band, int position) {
+        return sortedKeys[band][position];
+    }
+
+    int sortedBook(int band, int position) {
+        return sortedBooks[band][position];
+    }
+
+    int size(int band) {
+        return sortedBooks[band].length;
+    }
+
+    //== private methods ==//
+
+    private static void sortBand(long[] bookBandKeys, int bookCount, int bands, int band,
+                                 long[][] sortedKeys, int[][] sortedBooks) {
+        // (해시, 책) 쌍을 정렬하기 위해 원시 배열 인덱스 정렬 대신 키와 책을 함께 정렬
+        long[][] entries = new long[bookCount][];
+        for (int book = 0; book < bookCount; book++) {
+            entries[book] = new long[]{bookBandKeys[book * bands + band], book};
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        long[] keys = new long[bookCount];
+        int[] books = new int[bookCount];
+        for (int k = 0; k < bookCount; k++) {
+            keys[k] = entries[k][0];
+            books[k] = (int) entries[k][1];
+        }
+        sortedKeys[band] = keys;
+        sortedBooks[band] = books;
+    }
+
+    // SplitMix64 마무리 함수
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
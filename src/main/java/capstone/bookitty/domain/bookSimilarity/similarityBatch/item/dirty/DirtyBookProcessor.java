@@ -0,0 +1,60 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator.Candidates;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 변경된 책 하나와 공동 평가된 모든 책의 쌍을 평점 행렬에서 정확히 다시 계산합니다.
+ * 평점이 모두 삭제되어 행렬에 없는 책은 이웃이 없는 결과를 돌려주어 Writer가 기존 행을 지우게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DirtyBookProcessor implements ItemProcessor<String, BookNeighborsDto> {
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final CandidateGeneratorFactory candidateGeneratorFactory;
+
+    // 후보 생성기의 작업 공간은 공유할 수 없으므로 처리 스레드마다 하나씩 사용
+    private final ThreadLocal<CandidateGenerator> candidateGenerators = new ThreadLocal<>();
+    private final ThreadLocal<RatingMatrix> matrices = new ThreadLocal<>();
+
+    @Override
+    public BookNeighborsDto process(String isbn) {
+        RatingMatrix matrix = ratingMatrixEngine.matrix();
+        int book = matrix.indexOf(isbn);
+        if (book < 0) {
+            return new BookNeighborsDto(isbn, List.of());
+        }
+
+        Candidates candidates = candidateGenerator(matrix).generateAll(book);
+        List<BookSimilarityResult> results = new ArrayList<>(candidates.size());
+        for (int other : candidates.books()) {
+            CosineAccumulator accumulator = ratingMatrixEngine.accumulate(book, other);
+            results.add(BookSimilarityResult.of(isbn, matrix.isbn(other), accumulator));
+        }
+        return new BookNeighborsDto(isbn, results);
+    }
+
+    //== private methods ==//
+
+    private CandidateGenerator candidateGenerator(RatingMatrix matrix) {
+        if (matrices.get() != matrix) {
+            matrices.set(matrix);
+            candidateGenerators.set(candidateGeneratorFactory.create(
+                    matrix, CandidateGeneratorFactory.EXACT_MODE, 0, 0));
+        }
+        return candidateGenerators.get();
+    }
+}
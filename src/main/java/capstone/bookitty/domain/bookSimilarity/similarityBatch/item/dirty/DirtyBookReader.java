@@ -0,0 +1,69 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty;
+
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.config.SimilarityJobParameters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 증분 모드에서 워터마크(이번 세대 시작 시각) 이전에 평점이 바뀐 ISBN을 정렬된 순서로 내보냅니다.
+ * 커서는 마지막으로 내보낸 ISBN이므로, 재시작 시 변경 집합이 달라져도 그 다음 ISBN부터 이어갑니다.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class DirtyBookReader implements ItemStreamReader<String> {
+
+    static final String CURSOR_ISBN_KEY = "dirtyBookReader.isbn";
+
+    private final DirtyIsbnRedisRepository dirtyIsbnRedisRepository;
+
+    @Value("#{stepExecution}")
+    private StepExecution stepExecution;
+
+    private List<String> isbns;
+    private int i;
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        long watermark = SimilarityJobParameters.generationStart(stepExecution.getJobExecution()).getTime();
+        this.isbns = new ArrayList<>(dirtyIsbnRedisRepository.findChangedUntil(watermark));
+        Collections.sort(isbns);
+
+        this.i = 0;
+        if (executionContext.containsKey(CURSOR_ISBN_KEY)) {
+            int index = Collections.binarySearch(isbns, executionContext.getString(CURSOR_ISBN_KEY));
+            this.i = index >= 0 ? index + 1 : -index - 1;
+        }
+
+        log.info("변경 ISBN 커서 초기화 - 워터마크: {}, 대상: {}권, 시작 위치: {}", watermark, isbns.size(), i);
+    }
+
+    @Override
+    public String read() {
+        return i < isbns.size() ? isbns.get(i++) : null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (i > 0) {
+            executionContext.putString(CURSOR_ISBN_KEY, isbns.get(i - 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.isbns = null;
+    }
+}
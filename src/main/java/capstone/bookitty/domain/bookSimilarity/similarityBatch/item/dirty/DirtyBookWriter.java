@@ -0,0 +1,55 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dirty;
+
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.BookSimilarityWriter;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 변경된 책들의 쌍을 전체 재계산과 같은 규칙(BookSimilarityWriter)으로 기록한 뒤,
+ * 그 책들이 포함된 쌍 중 이번 청크에서 다시 기록되지 않은 행(더 이상 공동 평가되지 않는 쌍)을 삭제합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirtyBookWriter implements ItemWriter<BookNeighborsDto> {
+
+    private final BookSimilarityWriter bookSimilarityWriter;
+    private final BookSimilarityJdbcRepository bookSimilarityJdbcRepository;
+    private final BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository;
+
+    @Override
+    public void write(Chunk<? extends BookNeighborsDto> chunk) {
+        // 이번 청크가 쓰는 행에 그대로 바인딩되는 시각을 기준으로 삭제하므로, 다시 기록된 행은 cutoff와 같아 제외됨
+        // 초 단위로 잘라 두어 modifiedDate 컬럼 정밀도와 무관하게 저장 값이 cutoff와 일치함
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+
+        List<String> isbns = new ArrayList<>(chunk.size());
+        List<BookSimilarityResult> pairs = new ArrayList<>();
+        for (BookNeighborsDto book : chunk.getItems()) {
+            isbns.add(book.isbn());
+            pairs.addAll(book.neighbors());
+        }
+
+        if (!pairs.isEmpty()) {
+            bookSimilarityWriter.write(new Chunk<>(pairs), cutoff);
+        }
+        int deletedSimilarities = bookSimilarityJdbcRepository.deleteTouchingModifiedBefore(isbns, cutoff);
+        int deletedStatistics = bookPairStatisticsJdbcRepository.deleteTouchingModifiedBefore(isbns, cutoff);
+
+        log.info("변경 책 유사도 갱신 완료: 책 {}권, 쌍 {}개 (삭제: 유사도 {}개, 쌍 통계 {}개)",
+                isbns.size(), pairs.size(), deletedSimilarities, deletedStatistics);
+    }
+}
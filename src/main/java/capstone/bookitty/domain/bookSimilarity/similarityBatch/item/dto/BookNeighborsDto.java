@@ -0,0 +1,9 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto;
+
+import java.util.List;
+
+/**
+ * Top-K 모드에서 한 책에 대해 선택된 이웃 유사도 목록입니다. (유사도 내림차순)
+ */
+public record BookNeighborsDto(String isbn, List<BookSimilarityResult> neighbors) {
+}
@@ -0,0 +1,67 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarity;
+import capstone.bookitty.domain.bookSimilarity.domain.BookSimilarityId;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+
+public record BookSimilarityResult(String isbn1, String isbn2, double similarity, int commonUsers,
+                                   double dotProduct, double normSquared1, double normSquared2) {
+
+    public static BookSimilarityResult of(String isbn1, String isbn2, double similarity, int commonUsers) {
+        return of(isbn1, isbn2, similarity, commonUsers, 0.0, 0.0, 0.0);
+    }
+
+    public static BookSimilarityResult of(String isbn1, String isbn2, CosineAccumulator accumulator) {
+        return of(isbn1, isbn2, accumulator.similarity(), accumulator.getCommonUsers(),
+                accumulator.getDotProduct(), accumulator.getMagnitude1(), accumulator.getMagnitude2());
+    }
+
+    public static BookSimilarityResult from(BookPairStatistics statistics) {
+        return new BookSimilarityResult(statistics.getIsbn1(), statistics.getIsbn2(),
+                statistics.similarity(), statistics.getCommonUsers(),
+                statistics.getDotProduct(), statistics.getNormSquared1(), statistics.getNormSquared2());
+    }
+
+    public static BookSimilarityResult of(String isbn1, String isbn2, double similarity, int commonUsers,
+                                          double dotProduct, double normSquared1, double normSquared2) {
+        // isbn1이 isbn2보다 작도록 정렬하여 생성 (제곱합도 함께 맞바꿈)
+        if (isbn1.compareTo(isbn2) <= 0) {
+            return new BookSimilarityResult(isbn1, isbn2, similarity, commonUsers,
+                    dotProduct, normSquared1, normSquared2);
+        } else {
+            return new BookSimilarityResult(isbn2, isbn1, similarity, commonUsers,
+                    dotProduct, normSquared2, normSquared1);
+        }
+    }
+
+    // 기존 필터링 규칙(공통 평가자 수, 최소 유사도)을 통과하면 저장 대상
+    public boolean isRetained() {
+        return commonUsers >= BookSimilarityService.MIN_COMMON_USERS
+                && Math.abs(similarity) >= BookSimilarityService.MIN_SIMILARITY_THRESHOLD;
+    }
+
+    public BookSimilarityId toId() {
+        return new BookSimilarityId(isbn1, isbn2);
+    }
+
+    public BookSimilarity toEntity() {
+        return BookSimilarity.builder()
+                .isbn1(isbn1)
+                .isbn2(isbn2)
+                .similarity(similarity)
+                .build();
+    }
+
+    public BookPairStatistics toStatistics() {
+        return BookPairStatistics.builder()
+                .isbn1(isbn1)
+                .isbn2(isbn2)
+                .dotProduct(dotProduct)
+                .normSquared1(normSquared1)
+                .normSquared2(normSquared2)
+                .commonUsers(commonUsers)
+                .build();
+    }
+}
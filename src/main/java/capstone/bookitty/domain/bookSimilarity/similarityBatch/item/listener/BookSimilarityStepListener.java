@@ -6,15 +6,15 @@ import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 @Slf4j
 @Component
 public class BookSimilarityStepListener implements StepExecutionListener {
 
-    private long startTime;
-
     @Override
     public void beforeStep(StepExecution stepExecution) {
-        startTime = System.currentTimeMillis();
         log.info("📊 ==================== STEP 시작 ====================");
         log.info("🔧 Step 이름: {}", stepExecution.getStepName());
         log.info("⏰ 시작 시간: {}", stepExecution.getStartTime());
@@ -22,8 +22,9 @@ public class BookSimilarityStepListener implements StepExecutionListener {
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
-        long endTime = System.currentTimeMillis();
-        long totalDuration = endTime - startTime;
+        // 파티션 워커 Step은 여러 스레드에서 동시에 실행되므로 인스턴스 필드 대신 StepExecution 기준으로 계산
+        long totalDuration = stepExecution.getStartTime() == null ? 0
+                : Duration.between(stepExecution.getStartTime(), LocalDateTime.now()).toMillis();
 
         long totalItems = stepExecution.getReadCount();
         long processedItems = stepExecution.getWriteCount();
@@ -0,0 +1,97 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator.Candidates;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 책의 공동 평가 이웃 전체를 평점 행렬에서 계산하고, 고정 크기 최소 힙으로 상위 K개만 남깁니다.
+ * 후보 생성기와 힙은 작업 공간을 공유할 수 없으므로, 파티션(StepExecution) 안에서도 처리 스레드마다
+ * 하나씩 생성되어 재사용됩니다. (비동기 처리 모드에서는 여러 스레드가 같은 Processor를 호출)
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class BookNeighborProcessor implements ItemProcessor<Integer, BookNeighborsDto> {
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final CandidateGeneratorFactory candidateGeneratorFactory;
+
+    @Value("${batch.similarity.top-k:0}")
+    private int topK;
+
+    @Value("#{jobParameters['candidate.mode'] ?: 'exact'}")
+    private String candidateMode;
+
+    @Value("#{jobParameters['lsh.bands'] ?: 32}")
+    private int lshBands;
+
+    @Value("#{jobParameters['lsh.rows'] ?: 2}")
+    private int lshRows;
+
+    private final ThreadLocal<Workspace> workspaces = new ThreadLocal<>();
+
+    @Override
+    public BookNeighborsDto process(Integer book) {
+        Workspace workspace = workspace();
+        RatingMatrix matrix = workspace.matrix();
+        CandidateGenerator candidateGenerator = workspace.candidateGenerator();
+        TopKNeighborHeap heap = workspace.heap();
+
+        Candidates candidates = candidateGenerator.generateAll(book);
+        if (candidates.size() == 0) {
+            return null;
+        }
+
+        heap.clear();
+        for (int other : candidates.books()) {
+            double similarity = ratingMatrixEngine.accumulate(book, other).similarity();
+            if (Math.abs(similarity) >= BookSimilarityService.MIN_SIMILARITY_THRESHOLD) {
+                heap.offer(other, similarity);
+            }
+        }
+        if (heap.size() == 0) {
+            return null;
+        }
+
+        String isbn = matrix.isbn(book);
+        int[] neighbors = heap.drainDescending();
+        List<BookSimilarityResult> results = new ArrayList<>(neighbors.length);
+        for (int other : neighbors) {
+            CosineAccumulator accumulator = ratingMatrixEngine.accumulate(book, other);
+            results.add(BookSimilarityResult.of(isbn, matrix.isbn(other), accumulator));
+        }
+        return new BookNeighborsDto(isbn, results);
+    }
+
+    //== private methods ==//
+
+    private Workspace workspace() {
+        RatingMatrix current = ratingMatrixEngine.matrix();
+        Workspace workspace = workspaces.get();
+        if (workspace == null || workspace.matrix() != current) {
+            workspace = new Workspace(current,
+                    candidateGeneratorFactory.create(current, candidateMode, lshBands, lshRows),
+                    new TopKNeighborHeap(topK));
+            workspaces.set(workspace);
+        }
+        return workspace;
+    }
+
+    private record Workspace(RatingMatrix matrix, CandidateGenerator candidateGenerator, TopKNeighborHeap heap) {
+    }
+}
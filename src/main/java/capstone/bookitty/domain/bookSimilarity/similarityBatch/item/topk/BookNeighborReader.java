@@ -0,0 +1,75 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Top-K 모드에서 담당 ISBN 범위의 책을 하나씩 내보냅니다.
+ * 한 책의 이웃 선택은 Processor 안에서 끝나므로 커서는 다음에 읽을 책 하나면 충분하며,
+ * 재시작 시 평점 행렬이 달라져도 이어갈 수 있도록 인덱스 대신 ISBN으로 저장합니다.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class BookNeighborReader implements ItemStreamReader<Integer> {
+
+    static final String CURSOR_ISBN_KEY = "bookNeighborReader.isbn";
+    static final String FINISHED_KEY = "bookNeighborReader.finished";
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+
+    @Value("#{stepExecutionContext['minIsbn']}")
+    private String minIsbn;
+
+    @Value("#{stepExecutionContext['maxIsbn']}")
+    private String maxIsbn;
+
+    private RatingMatrix matrix;
+    private int endIndex;
+    private int i;
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        this.matrix = ratingMatrixEngine.matrix();
+
+        int startIndex = minIsbn == null ? 0 : matrix.lowerBound(minIsbn);
+        this.endIndex = maxIsbn == null ? matrix.bookCount() : matrix.lowerBound(maxIsbn);
+        if (executionContext.containsKey(FINISHED_KEY)) {
+            this.i = endIndex;
+        } else if (executionContext.containsKey(CURSOR_ISBN_KEY)) {
+            this.i = Math.max(startIndex, matrix.lowerBound(executionContext.getString(CURSOR_ISBN_KEY)));
+        } else {
+            this.i = startIndex;
+        }
+
+        log.info("Top-K 이웃 커서 초기화 - 범위: [{}, {}), 담당 책 수: {} 권, 시작 위치: {}",
+                minIsbn, maxIsbn, endIndex - startIndex, i);
+    }
+
+    @Override
+    public Integer read() {
+        return i < endIndex ? i++ : null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (i >= endIndex) {
+            executionContext.putString(FINISHED_KEY, "true");
+        } else {
+            executionContext.putString(CURSOR_ISBN_KEY, matrix.isbn(i));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.matrix = null;
+    }
+}
@@ -0,0 +1,48 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk;
+
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityTableManager;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 책마다 선택된 상위 K개 이웃을 저장합니다.
+ * 한 쌍은 두 책 중 어느 쪽의 상위 K에 들어도 저장되며, 양쪽에서 중복 기록되어도 upsert로 합쳐집니다.
+ * 어느 쪽의 상위 K에도 들지 못한 기존 쌍은 정리 Step이 이번 실행에서 갱신되지 않은 행으로 판단해 삭제합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookNeighborWriter implements ItemWriter<BookNeighborsDto> {
+
+    private final BookSimilarityJdbcRepository bookSimilarityJdbcRepository;
+    private final BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository;
+    private final BookSimilarityTableManager bookSimilarityTableManager;
+
+    @Override
+    public void write(Chunk<? extends BookNeighborsDto> chunk) {
+        List<BookSimilarityResult> neighbors = new ArrayList<>();
+        List<BookPairStatistics> statistics = new ArrayList<>();
+
+        for (BookNeighborsDto book : chunk.getItems()) {
+            for (BookSimilarityResult neighbor : book.neighbors()) {
+                neighbors.add(neighbor);
+                statistics.add(neighbor.toStatistics());
+            }
+        }
+
+        bookPairStatisticsJdbcRepository.upsertAll(statistics);
+        bookSimilarityJdbcRepository.upsertAll(bookSimilarityTableManager.batchTargetTable(), neighbors);
+        log.info("Top-K 이웃 저장 완료: 책 {}권, 이웃 {}개", chunk.size(), neighbors.size());
+    }
+}
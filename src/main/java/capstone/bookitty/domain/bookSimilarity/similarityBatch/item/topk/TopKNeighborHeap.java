@@ -0,0 +1,99 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk;
+
+/**
+ * 유사도가 가장 높은 K개의 이웃만 남기는 고정 크기 최소 힙입니다.
+ * 루트가 현재 K개 중 가장 낮은 유사도이므로, 새 후보는 루트보다 높을 때만 교체합니다.
+ *
+ * 배열을 재사용하므로 스레드마다(Processor마다) 별도 인스턴스를 사용해야 합니다.
+ */
+public class TopKNeighborHeap {
+
+    private final int capacity;
+    private final int[] books;
+    private final double[] similarities;
+    private int size;
+
+    public TopKNeighborHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.books = new int[capacity];
+        this.similarities = new double[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void offer(int book, double similarity) {
+        if (size < capacity) {
+            books[size] = book;
+            similarities[size] = similarity;
+            siftUp(size++);
+        } else if (similarity > similarities[0]) {
+            books[0] = book;
+            similarities[0] = similarity;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return 남은 이웃의 책 인덱스 (유사도 내림차순). 힙은 비워집니다.
+     */
+    public int[] drainDescending() {
+        int[] result = new int[size];
+        for (int k = size - 1; k >= 0; k--) {
+            result[k] = books[0];
+            size--;
+            if (size > 0) {
+                books[0] = books[size];
+                similarities[0] = similarities[size];
+                siftDown(0);
+            }
+        }
+        return result;
+    }
+
+    //== private methods ==//
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (similarities[parent] <= similarities[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && similarities[left + 1] < similarities[left] ? left + 1 : left;
+            if (similarities[index] <= similarities[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int book = books[a];
+        books[a] = books[b];
+        books[b] = book;
+
+        double similarity = similarities[a];
+        similarities[a] = similarities[b];
+        similarities[b] = similarity;
+    }
+}
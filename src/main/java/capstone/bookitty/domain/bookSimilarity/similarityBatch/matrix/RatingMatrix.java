@@ -0,0 +1,123 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import java.util.Arrays;
+
+/**
+ * star 테이블 전체를 담는 희소 평점 행렬입니다.
+ * 책과 회원은 각각 정렬된 ISBN / 회원 ID 배열의 인덱스(dense int)로 표현되며,
+ * 같은 데이터를 책 기준 CSR(책 → 회원)과 회원 기준 CSC(회원 → 책) 두 방향으로 보관합니다.
+ * 각 행 안의 인덱스는 오름차순으로 정렬되어 있습니다.
+ */
+public final class RatingMatrix {
+
+    private final String[] isbns;
+    private final long[] memberIds;
+
+    // 책 기준: bookOffsets[b] ~ bookOffsets[b + 1] 구간이 책 b를 평가한 회원들
+    private final int[] bookOffsets;
+    private final int[] bookMembers;
+    private final float[] bookScores;
+
+    // 회원 기준: memberOffsets[m] ~ memberOffsets[m + 1] 구간이 회원 m이 평가한 책들
+    private final int[] memberOffsets;
+    private final int[] memberBooks;
+    private final float[] memberScores;
+
+    RatingMatrix(String[] isbns, long[] memberIds,
+                 int[] bookOffsets, int[] bookMembers, float[] bookScores) {
+        this.isbns = isbns;
+        this.memberIds = memberIds;
+        this.bookOffsets = bookOffsets;
+        this.bookMembers = bookMembers;
+        this.bookScores = bookScores;
+
+        // CSR을 전치하여 CSC 생성 (책 인덱스 순으로 채우므로 회원별 책 목록도 정렬됨)
+        int ratingCount = bookMembers.length;
+        this.memberOffsets = new int[memberIds.length + 1];
+        for (int k = 0; k < ratingCount; k++) {
+            memberOffsets[bookMembers[k] + 1]++;
+        }
+        for (int m = 0; m < memberIds.length; m++) {
+            memberOffsets[m + 1] += memberOffsets[m];
+        }
+
+        this.memberBooks = new int[ratingCount];
+        this.memberScores = new float[ratingCount];
+        int[] cursor = Arrays.copyOf(memberOffsets, memberIds.length);
+        for (int b = 0; b < isbns.length; b++) {
+            for (int k = bookOffsets[b]; k < bookOffsets[b + 1]; k++) {
+                int position = cursor[bookMembers[k]]++;
+                memberBooks[position] = b;
+                memberScores[position] = bookScores[k];
+            }
+        }
+    }
+
+    public int bookCount() {
+        return isbns.length;
+    }
+
+    public int memberCount() {
+        return memberIds.length;
+    }
+
+    public int ratingCount() {
+        return bookMembers.length;
+    }
+
+    public String isbn(int book) {
+        return isbns[book];
+    }
+
+    public long memberId(int member) {
+        return memberIds[member];
+    }
+
+    /**
+     * @return ISBN의 책 인덱스, 평점이 없는 책이면 -1
+     */
+    public int indexOf(String isbn) {
+        int index = Arrays.binarySearch(isbns, isbn);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * @return 정렬된 ISBN 배열에서 isbn 이상인 첫 번째 책 인덱스
+     */
+    public int lowerBound(String isbn) {
+        int index = Arrays.binarySearch(isbns, isbn);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public int bookStart(int book) {
+        return bookOffsets[book];
+    }
+
+    public int bookEnd(int book) {
+        return bookOffsets[book + 1];
+    }
+
+    public int memberStart(int member) {
+        return memberOffsets[member];
+    }
+
+    public int memberEnd(int member) {
+        return memberOffsets[member + 1];
+    }
+
+    public int[] bookMembers() {
+        return bookMembers;
+    }
+
+    public float[] bookScores() {
+        return bookScores;
+    }
+
+    public int[] memberBooks() {
+        return memberBooks;
+    }
+
+    public float[] memberScores() {
+        return memberScores;
+    }
+}
@@ -0,0 +1,112 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineSimilarityCalculator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.MinHashLshIndex;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유사도 배치 동안에만 살아있는 평점 행렬 엔진입니다.
+ * Job 시작 시 star 테이블을 한 번 읽어(스냅샷이 있으면 변경분만) 메모리에 올리고, 이후 모든 책 쌍의 유사도를
+ * 네트워크 I/O 없이 행렬에서 계산합니다. Job이 끝나면 행렬을 해제합니다.
+ *
+ * JobScope 빈은 파티션 워커 스레드에서 조회할 수 없으므로, 싱글톤 + JobExecutionListener로 수명을 관리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingMatrixEngine implements JobExecutionListener {
+
+    private final RatingMatrixSnapshotStore ratingMatrixSnapshotStore;
+    private final CosineSimilarityCalculator cosineSimilarityCalculator;
+
+    // 파티션 워커 스레드마다 하나씩 재사용하여 쌍마다 객체를 만들지 않음
+    private final ThreadLocal<CosineAccumulator> accumulators = ThreadLocal.withInitial(CosineAccumulator::new);
+
+    private volatile RatingMatrix matrix;
+    private volatile MinHashLshIndex lshIndex;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        reload();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        matrix = null;
+        lshIndex = null;
+        log.info("평점 행렬 해제 완료");
+    }
+
+    public synchronized RatingMatrix reload() {
+        matrix = ratingMatrixSnapshotStore.load();
+        lshIndex = null;
+        return matrix;
+    }
+
+    public RatingMatrix matrix() {
+        RatingMatrix current = matrix;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return matrix != null ? matrix : reload();
+        }
+    }
+
+    /**
+     * 근사 후보 모드에서 파티션들이 공유하는 MinHash/LSH 색인을 한 번만 생성합니다.
+     * 같은 Job 안에서 다른 bands/rows로 요청하면 다시 생성합니다.
+     */
+    public MinHashLshIndex lshIndex(int bands, int rows) {
+        MinHashLshIndex current = lshIndex;
+        if (current != null && current.bands() == bands && current.rows() == rows) {
+            return current;
+        }
+        synchronized (this) {
+            current = lshIndex;
+            if (current == null || current.bands() != bands || current.rows() != rows) {
+                long startTime = System.currentTimeMillis();
+                current = MinHashLshIndex.build(matrix(), bands, rows);
+                lshIndex = current;
+                log.info("MinHash/LSH 색인 생성 완료 - bands: {}, rows: {}, 기준 Jaccard ≈ {}, {}ms",
+                        bands, rows, String.format("%.3f", current.threshold()), System.currentTimeMillis() - startTime);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 행렬 인덱스로 두 책의 평점 행을 병합 조인합니다.
+     * 반환되는 accumulator는 호출 스레드가 재사용하므로 다음 호출 전에 값을 꺼내 써야 합니다.
+     */
+    public CosineAccumulator accumulate(int book1, int book2) {
+        RatingMatrix current = matrix();
+        int[] members = current.bookMembers();
+        float[] scores = current.bookScores();
+        return cosineSimilarityCalculator.accumulate(
+                members, scores, current.bookStart(book1), current.bookEnd(book1),
+                members, scores, current.bookStart(book2), current.bookEnd(book2),
+                accumulators.get());
+    }
+
+    /**
+     * 두 책의 평점 행을 병합 조인하여 공통 평가자 기준 코사인 유사도를 계산합니다.
+     */
+    public BookSimilarityResult similarity(String isbn1, String isbn2) {
+        RatingMatrix current = matrix();
+        int book1 = current.indexOf(isbn1);
+        int book2 = current.indexOf(isbn2);
+        if (book1 < 0 || book2 < 0) {
+            return BookSimilarityResult.of(isbn1, isbn2, 0.0, 0);
+        }
+
+        CosineAccumulator accumulator = accumulate(book1, book2);
+        return BookSimilarityResult.of(isbn1, isbn2, accumulator);
+    }
+}
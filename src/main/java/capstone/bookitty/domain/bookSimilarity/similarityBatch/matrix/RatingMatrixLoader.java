@@ -0,0 +1,217 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import capstone.bookitty.global.entity.BaseEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Component
+public class RatingMatrixLoader {
+
+    private static final String SELECT_ALL_RATINGS =
+            "SELECT isbn, member_id, score FROM star ORDER BY isbn, member_id";
+    private static final String SELECT_CHANGED_RATINGS =
+            "SELECT isbn, member_id, score FROM star WHERE " + BaseEntity.MODIFIED_DATE_COLUMN
+                    + " >= ? ORDER BY isbn, member_id";
+    private static final String COUNT_RATINGS_BY_ISBN =
+            "SELECT isbn, COUNT(*) FROM star GROUP BY isbn";
+    private static final int RELOAD_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RatingMatrixLoader(DataSource dataSource) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL 드라이버는 fetchSize가 Integer.MIN_VALUE일 때만 결과를 한 행씩 스트리밍함
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // 스트리밍 fetchSize를 지원하지 않는 DB(테스트용 H2)에서 사용
+    RatingMatrixLoader(JdbcTemplate streamingJdbcTemplate, JdbcTemplate jdbcTemplate) {
+        this.streamingJdbcTemplate = streamingJdbcTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * star 테이블을 한 번의 스트리밍 쿼리로 읽어 희소 평점 행렬을 만듭니다.
+     * 회원 ID는 같은 스냅샷에서 모은 뒤 정렬하여 dense 인덱스로 변환합니다.
+     */
+    public RatingMatrix load() {
+        long startTime = System.currentTimeMillis();
+        RatingRowCollector collector = new RatingRowCollector();
+
+        streamingJdbcTemplate.query(SELECT_ALL_RATINGS, collector);
+
+        RatingMatrix matrix = collector.toMatrix();
+        log.info("평점 행렬 로딩 완료 - 책: {}권, 회원: {}명, 평점: {}개, 소요 시간: {}ms",
+                matrix.bookCount(), matrix.memberCount(), matrix.ratingCount(),
+                System.currentTimeMillis() - startTime);
+        return matrix;
+    }
+
+    /**
+     * 스냅샷 행렬에 워터마크 이후 수정된 평점만 덮어써서 현재 행렬을 만듭니다.
+     * 삭제된 평점은 수정 시각으로 알 수 없으므로, ISBN별 평점 수가 현재 테이블과 다른 책만 다시 읽습니다.
+     *
+     * @param base  스냅샷에서 읽은 행렬
+     * @param since 스냅샷 워터마크 (이 시각 이후 수정된 평점을 다시 읽음)
+     */
+    public RatingMatrix loadIncremental(RatingMatrix base, Timestamp since) {
+        long startTime = System.currentTimeMillis();
+
+        RatingRowCollector changedCollector = new RatingRowCollector();
+        streamingJdbcTemplate.query(SELECT_CHANGED_RATINGS, changedCollector, since);
+        RatingMatrix changed = changedCollector.toMatrix();
+
+        // ISBN 오름차순 (ORDER BY 없이 GROUP BY 결과를 정렬)
+        TreeMap<String, Integer> currentCounts = new TreeMap<>();
+        jdbcTemplate.query(COUNT_RATINGS_BY_ISBN, rs -> {
+            currentCounts.put(rs.getString(1), rs.getInt(2));
+        });
+
+        // 1차: 병합 결과의 평점 수가 현재 테이블과 다른 책(삭제가 있었던 책)을 찾음
+        List<String> reloadIsbns = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : currentCounts.entrySet()) {
+            String isbn = entry.getKey();
+            if (merge(base, changed, isbn, null) != entry.getValue()) {
+                reloadIsbns.add(isbn);
+            }
+        }
+
+        RatingRowCollector reloadCollector = new RatingRowCollector();
+        for (int from = 0; from < reloadIsbns.size(); from += RELOAD_BATCH_SIZE) {
+            List<String> batch = reloadIsbns.subList(from, Math.min(from + RELOAD_BATCH_SIZE, reloadIsbns.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query("SELECT isbn, member_id, score FROM star WHERE isbn IN (" + placeholders
+                    + ") ORDER BY isbn, member_id", reloadCollector, batch.toArray());
+        }
+        RatingMatrix reloaded = reloadCollector.toMatrix();
+
+        // 2차: 현재 존재하는 ISBN 순서대로 병합 결과(또는 다시 읽은 행)를 기록
+        RatingRowCollector collector = new RatingRowCollector();
+        for (String isbn : currentCounts.keySet()) {
+            int book = reloaded.indexOf(isbn);
+            if (book >= 0) {
+                for (int k = reloaded.bookStart(book); k < reloaded.bookEnd(book); k++) {
+                    collector.add(isbn, reloaded.memberId(reloaded.bookMembers()[k]), reloaded.bookScores()[k]);
+                }
+            } else {
+                merge(base, changed, isbn, collector);
+            }
+        }
+
+        RatingMatrix matrix = collector.toMatrix();
+        log.info("평점 행렬 증분 로딩 완료 - 변경 평점: {}개, 다시 읽은 책: {}권, 책: {}권, 평점: {}개, 소요 시간: {}ms",
+                changed.ratingCount(), reloadIsbns.size(), matrix.bookCount(), matrix.ratingCount(),
+                System.currentTimeMillis() - startTime);
+        return matrix;
+    }
+
+    /**
+     * 한 책의 스냅샷 평점과 변경 평점을 회원 ID 순으로 병합합니다. (같은 회원이면 변경 평점 우선)
+     *
+     * @param collector null이면 병합 결과의 평점 수만 계산
+     * @return 병합된 평점 수
+     */
+    private int merge(RatingMatrix base, RatingMatrix changed, String isbn, RatingRowCollector collector) {
+        int baseBook = base.indexOf(isbn);
+        int changedBook = changed.indexOf(isbn);
+        int p = baseBook >= 0 ? base.bookStart(baseBook) : 0;
+        int pEnd = baseBook >= 0 ? base.bookEnd(baseBook) : 0;
+        int q = changedBook >= 0 ? changed.bookStart(changedBook) : 0;
+        int qEnd = changedBook >= 0 ? changed.bookEnd(changedBook) : 0;
+        int count = 0;
+
+        while (p < pEnd || q < qEnd) {
+            long baseMember = p < pEnd ? base.memberId(base.bookMembers()[p]) : Long.MAX_VALUE;
+            long changedMember = q < qEnd ? changed.memberId(changed.bookMembers()[q]) : Long.MAX_VALUE;
+
+            if (baseMember < changedMember) {
+                if (collector != null) {
+                    collector.add(isbn, baseMember, base.bookScores()[p]);
+                }
+                p++;
+            } else {
+                if (collector != null) {
+                    collector.add(isbn, changedMember, changed.bookScores()[q]);
+                }
+                if (baseMember == changedMember) {
+                    p++;
+                }
+                q++;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static class RatingRowCollector implements RowCallbackHandler {
+
+        private final List<String> isbns = new ArrayList<>();
+        private int[] bookOffsets = new int[1024];
+        private long[] rawMemberIds = new long[1024];
+        private float[] scores = new float[1024];
+        private int size = 0;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            add(rs.getString(1), rs.getLong(2), rs.getFloat(3));
+        }
+
+        // (isbn, 회원 ID) 오름차순으로 호출되어야 함
+        void add(String isbn, long memberId, float score) {
+            if (isbns.isEmpty() || !isbns.get(isbns.size() - 1).equals(isbn)) {
+                if (isbns.size() + 1 >= bookOffsets.length) {
+                    bookOffsets = Arrays.copyOf(bookOffsets, bookOffsets.length * 2);
+                }
+                bookOffsets[isbns.size()] = size;
+                isbns.add(isbn);
+            }
+
+            if (size == rawMemberIds.length) {
+                rawMemberIds = Arrays.copyOf(rawMemberIds, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            rawMemberIds[size] = memberId;
+            scores[size] = score;
+            size++;
+        }
+
+        RatingMatrix toMatrix() {
+            int bookCount = isbns.size();
+            int[] offsets = Arrays.copyOf(bookOffsets, bookCount + 1);
+            offsets[bookCount] = size;
+
+            long[] memberIds = Arrays.stream(rawMemberIds, 0, size).sorted().distinct().toArray();
+
+            // 회원 ID → dense 인덱스 (단조 변환이므로 책별 회원 순서가 유지됨)
+            int[] members = new int[size];
+            for (int k = 0; k < size; k++) {
+                members[k] = Arrays.binarySearch(memberIds, rawMemberIds[k]);
+            }
+
+            return new RatingMatrix(
+                    isbns.toArray(new String[0]),
+                    memberIds,
+                    offsets,
+                    members,
+                    Arrays.copyOf(scores, size));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 평점 행렬을 로컬 파일에 저장하는 바이너리 스냅샷 형식입니다. 읽기/쓰기 모두 MappedByteBuffer를 사용합니다.
+ *
+ * <pre>
+ * header   : magic(int) version(int) watermark(long) bookCount(int) memberCount(int) ratingCount(int)
+ * isbns    : bookCount × (length(byte) + ASCII bytes)
+ * members  : memberCount × long   (정렬된 회원 ID)
+ * offsets  : (bookCount + 1) × int (책별 평점 구간)
+ * raters   : ratingCount × int    (dense 회원 인덱스, 책 안에서 오름차순)
+ * scores   : ratingCount × byte   (반 별 단위 평점, score × 2)
+ * </pre>
+ */
+public final class RatingMatrixSnapshot {
+
+    private static final int MAGIC = 0x424B5352; // "BKSR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4;
+
+    private RatingMatrixSnapshot() {
+    }
+
+    /**
+     * @param matrix    스냅샷
+     * @param watermark 이 시각 이후 수정된 평점만 다시 읽으면 되는 기준 시각 (epoch millis)
+     */
+    public record Loaded(RatingMatrix matrix, long watermark) {
+    }
+
+    /**
+     * 임시 파일에 기록한 뒤 원자적으로 교체하여, 기록 중 실패해도 이전 스냅샷이 남도록 합니다.
+     */
+    public static void write(RatingMatrix matrix, long watermark, Path path) throws IOException {
+        int bookCount = matrix.bookCount();
+        int memberCount = matrix.memberCount();
+        int ratingCount = matrix.ratingCount();
+
+        byte[][] isbns = new byte[bookCount][];
+        long isbnBytes = 0;
+        for (int book = 0; book < bookCount; book++) {
+            isbns[book] = matrix.isbn(book).getBytes(StandardCharsets.US_ASCII);
+            if (isbns[book].length > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("ISBN is too long for snapshot: " + matrix.isbn(book));
+            }
+            isbnBytes += 1 + isbns[book].length;
+        }
+        long size = HEADER_BYTES + isbnBytes + 8L * memberCount + 4L * (bookCount + 1) + 5L * ratingCount;
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(watermark)
+                    .putInt(bookCount).putInt(memberCount).putInt(ratingCount);
+            for (byte[] isbn : isbns) {
+                buffer.put((byte) isbn.length).put(isbn);
+            }
+            for (int member = 0; member < memberCount; member++) {
+                buffer.putLong(matrix.memberId(member));
+            }
+            for (int book = 0; book <= bookCount; book++) {
+                buffer.putInt(book < bookCount ? matrix.bookStart(book) : ratingCount);
+            }
+            int[] raters = matrix.bookMembers();
+            for (int k = 0; k < ratingCount; k++) {
+                buffer.putInt(raters[k]);
+            }
+            float[] scores = matrix.bookScores();
+            for (int k = 0; k < ratingCount; k++) {
+                buffer.put((byte) Math.round(scores[k] * 2));
+            }
+            buffer.force();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Loaded read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported rating snapshot format: " + path);
+            }
+            long watermark = buffer.getLong();
+            int bookCount = buffer.getInt();
+            int memberCount = buffer.getInt();
+            int ratingCount = buffer.getInt();
+
+            String[] isbns = new String[bookCount];
+            for (int book = 0; book < bookCount; book++) {
+                byte[] isbn = new byte[buffer.get()];
+                buffer.get(isbn);
+                isbns[book] = new String(isbn, StandardCharsets.US_ASCII);
+            }
+
+            long[] memberIds = new long[memberCount];
+            buffer.asLongBuffer().get(memberIds);
+            buffer.position(buffer.position() + 8 * memberCount);
+
+            int[] offsets = new int[bookCount + 1];
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + 4 * (bookCount + 1));
+
+            int[] raters = new int[ratingCount];
+            buffer.asIntBuffer().get(raters);
+            buffer.position(buffer.position() + 4 * ratingCount);
+
+            byte[] halfStars = new byte[ratingCount];
+            buffer.get(halfStars);
+            float[] scores = new float[ratingCount];
+            for (int k = 0; k < ratingCount; k++) {
+                scores[k] = halfStars[k] / 2.0f;
+            }
+
+            return new Loaded(new RatingMatrix(isbns, memberIds, offsets, raters, scores), watermark);
+        }
+    }
+}
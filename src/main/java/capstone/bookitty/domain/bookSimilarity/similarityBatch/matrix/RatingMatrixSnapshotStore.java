@@ -0,0 +1,75 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+
+/**
+ * 평점 행렬 스냅샷 파일로 배치를 빠르게 시작합니다.
+ * 스냅샷이 있으면 파일을 매핑해 읽고 워터마크 이후 변경된 평점만 DB에서 가져오며,
+ * 없거나 읽을 수 없으면 star 테이블 전체를 읽습니다. 로딩이 끝나면 새 스냅샷을 기록합니다.
+ *
+ * batch.similarity.snapshot.path가 비어 있으면 스냅샷을 사용하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingMatrixSnapshotStore {
+
+    // 수정 시각은 애플리케이션 서버 시계로 기록되고 커밋이 늦을 수 있으므로 워터마크를 여유 있게 앞당김
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
+
+    private final RatingMatrixLoader ratingMatrixLoader;
+
+    @Value("${batch.similarity.snapshot.path:}")
+    private String snapshotPath;
+
+    public RatingMatrix load() {
+        if (!StringUtils.hasText(snapshotPath)) {
+            return ratingMatrixLoader.load();
+        }
+
+        Path path = Path.of(snapshotPath);
+        long watermark = System.currentTimeMillis() - WATERMARK_OVERLAP.toMillis();
+        RatingMatrix matrix = loadFromSnapshot(path);
+        if (matrix == null) {
+            matrix = ratingMatrixLoader.load();
+        }
+
+        try {
+            RatingMatrixSnapshot.write(matrix, watermark, path);
+            log.info("평점 행렬 스냅샷 저장 완료: {} ({} bytes)", path, Files.size(path));
+        } catch (IOException | RuntimeException e) {
+            // 스냅샷은 다음 실행을 빠르게 하기 위한 것이므로 실패해도 배치는 계속 진행
+            log.warn("평점 행렬 스냅샷 저장 실패: {}", path, e);
+        }
+        return matrix;
+    }
+
+    private RatingMatrix loadFromSnapshot(Path path) {
+        if (!Files.isReadable(path)) {
+            log.info("평점 행렬 스냅샷 없음 - 전체 로딩: {}", path);
+            return null;
+        }
+
+        try {
+            long startTime = System.currentTimeMillis();
+            RatingMatrixSnapshot.Loaded snapshot = RatingMatrixSnapshot.read(path);
+            log.info("평점 행렬 스냅샷 매핑 완료 - 평점: {}개, 워터마크: {}, 소요 시간: {}ms",
+                    snapshot.matrix().ratingCount(), new Timestamp(snapshot.watermark()),
+                    System.currentTimeMillis() - startTime);
+            return ratingMatrixLoader.loadIncremental(snapshot.matrix(), new Timestamp(snapshot.watermark()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("평점 행렬 스냅샷을 사용할 수 없어 전체 로딩으로 대체합니다: {}", path, e);
+            return null;
+        }
+    }
+}
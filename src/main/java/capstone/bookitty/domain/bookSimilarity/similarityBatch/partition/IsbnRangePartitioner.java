@@ -0,0 +1,90 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.partition;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IsbnRangePartitioner implements Partitioner {
+
+    public static final String MIN_ISBN_KEY = "minIsbn";
+    public static final String MAX_ISBN_KEY = "maxIsbn";
+    public static final String PARTITION_PREFIX = "partition";
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+
+    /**
+     * 평점 행렬의 ISBN 공간을 [minIsbn, maxIsbn) 범위로 나눕니다.
+     * 책 하나의 후보 생성 비용은 그 책을 평가한 회원들의 평점 수 합에 비례하므로,
+     * 이 공동 평가 작업량이 범위별로 고르게 되도록 경계를 정합니다.
+     *
+     * @param gridSize 최대 파티션 수
+     * @return 파티션 이름별 ExecutionContext (마지막 파티션은 maxIsbn 없음)
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        RatingMatrix matrix = ratingMatrixEngine.matrix();
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        int n = matrix.bookCount();
+
+        if (n < 2) {
+            // 계산할 쌍이 없어도 빈 파티션 하나는 실행되어야 Step이 정상 종료됨
+            partitions.put(PARTITION_PREFIX + 0, new ExecutionContext());
+            return partitions;
+        }
+
+        long[] work = new long[n];
+        long totalWork = 0;
+        int[] bookMembers = matrix.bookMembers();
+        for (int book = 0; book < n; book++) {
+            for (int k = matrix.bookStart(book); k < matrix.bookEnd(book); k++) {
+                int member = bookMembers[k];
+                work[book] += matrix.memberEnd(member) - matrix.memberStart(member);
+            }
+            totalWork += work[book];
+        }
+        long workPerPartition = Math.max(1, (totalWork + gridSize - 1) / gridSize);
+
+        int partitionIndex = 0;
+        String minIsbn = matrix.isbn(0);
+        long accumulated = 0;
+
+        for (int i = 0; i < n - 1; i++) {
+            accumulated += work[i];
+            boolean lastPartition = partitionIndex == gridSize - 1;
+            if (accumulated >= workPerPartition && !lastPartition) {
+                String maxIsbn = matrix.isbn(i + 1);
+                partitions.put(PARTITION_PREFIX + partitionIndex, range(minIsbn, maxIsbn));
+                log.info("파티션 {} 생성: [{}, {}) - 예상 작업량 {}", partitionIndex, minIsbn, maxIsbn, accumulated);
+
+                partitionIndex++;
+                minIsbn = maxIsbn;
+                accumulated = 0;
+            }
+        }
+
+        accumulated += work[n - 1];
+        partitions.put(PARTITION_PREFIX + partitionIndex, range(minIsbn, null));
+        log.info("파티션 {} 생성: [{}, ∞) - 예상 작업량 {}", partitionIndex, minIsbn, accumulated);
+
+        return partitions;
+    }
+
+    private ExecutionContext range(String minIsbn, String maxIsbn) {
+        ExecutionContext context = new ExecutionContext();
+        context.putString(MIN_ISBN_KEY, minIsbn);
+        if (maxIsbn != null) {
+            context.putString(MAX_ISBN_KEY, maxIsbn);
+        }
+        return context;
+    }
+}
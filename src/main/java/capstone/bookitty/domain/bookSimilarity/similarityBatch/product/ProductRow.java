@@ -0,0 +1,112 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.product;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+
+/**
+ * Rᵀ·R의 한 행(기준 책 하나)을 계산하는 워커 스레드 전용 작업 공간입니다.
+ * 이웃 책마다 내적, 공통 평가자 기준 제곱합, 공통 평가자 수를 dense 배열에 누적하고,
+ * 실제로 값이 생긴 칸만 touched 목록으로 추적하여 다음 행을 위해 그 칸만 초기화합니다.
+ */
+public final class ProductRow {
+
+    private final RatingMatrix matrix;
+    private final double[] dotProducts;
+    private final double[] normSquared1;
+    private final double[] normSquared2;
+    private final int[] commonUsers;
+    private final int[] touched;
+
+    private int book;
+    private int size;
+
+    ProductRow(RatingMatrix matrix) {
+        int bookCount = matrix.bookCount();
+        this.matrix = matrix;
+        this.dotProducts = new double[bookCount];
+        this.normSquared1 = new double[bookCount];
+        this.normSquared2 = new double[bookCount];
+        this.commonUsers = new int[bookCount];
+        this.touched = new int[bookCount];
+    }
+
+    /**
+     * 기준 책을 평가한 회원마다 그 회원의 평점 행을 더해 한 행을 계산합니다. (Gustavson 방식)
+     *
+     * @param allNeighbors false면 기준 책보다 뒤에 있는 책만 (상삼각), true면 전체
+     */
+    void compute(int book, boolean allNeighbors) {
+        clear();
+        this.book = book;
+
+        int[] bookMembers = matrix.bookMembers();
+        float[] bookScores = matrix.bookScores();
+        int[] memberBooks = matrix.memberBooks();
+        float[] memberScores = matrix.memberScores();
+
+        for (int k = matrix.bookStart(book); k < matrix.bookEnd(book); k++) {
+            int member = bookMembers[k];
+            double score = bookScores[k];
+            for (int p = matrix.memberStart(member); p < matrix.memberEnd(member); p++) {
+                int other = memberBooks[p];
+                if (other == book || (!allNeighbors && other < book)) {
+                    continue;
+                }
+                double otherScore = memberScores[p];
+                if (commonUsers[other]++ == 0) {
+                    touched[size++] = other;
+                }
+                dotProducts[other] += score * otherScore;
+                normSquared1[other] += score * score;
+                normSquared2[other] += otherScore * otherScore;
+            }
+        }
+    }
+
+    public int book() {
+        return book;
+    }
+
+    public String isbn() {
+        return matrix.isbn(book);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int neighbor(int k) {
+        return touched[k];
+    }
+
+    public int commonUsers(int k) {
+        return commonUsers[touched[k]];
+    }
+
+    public double similarity(int k) {
+        int other = touched[k];
+        if (normSquared1[other] == 0.0 || normSquared2[other] == 0.0) {
+            return 0.0;
+        }
+        return Math.min(1.0, dotProducts[other] / (Math.sqrt(normSquared1[other]) * Math.sqrt(normSquared2[other])));
+    }
+
+    public BookSimilarityResult toResult(int k) {
+        int other = touched[k];
+        return BookSimilarityResult.of(matrix.isbn(book), matrix.isbn(other), similarity(k), commonUsers[other],
+                dotProducts[other], normSquared1[other], normSquared2[other]);
+    }
+
+    //== private methods ==//
+
+    private void clear() {
+        for (int k = 0; k < size; k++) {
+            int other = touched[k];
+            dotProducts[other] = 0.0;
+            normSquared1[other] = 0.0;
+            normSquared2[other] = 0.0;
+            commonUsers[other] = 0;
+        }
+        size = 0;
+    }
+}
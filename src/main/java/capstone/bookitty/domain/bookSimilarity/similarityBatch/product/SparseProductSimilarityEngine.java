@@ -0,0 +1,104 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.product;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * 책 × 책 유사도 행렬 전체를 희소 행렬 곱 Rᵀ·R로 계산합니다.
+ * 결과 행(기준 책)을 blockSize 단위 타일로 나눠 ForkJoinPool에서 병렬 처리하며,
+ * 작업량이 큰 타일이 몰린 스레드의 일은 다른 스레드가 훔쳐 갑니다(work stealing).
+ *
+ * 각 타일은 자신의 RowSink로 결과를 바로 흘려보내므로 전체 결과를 메모리에 모으지 않습니다.
+ */
+@Slf4j
+@Component
+public class SparseProductSimilarityEngine {
+
+    @Value("${batch.similarity.product.block-size:256}")
+    private int blockSize;
+
+    // 0이면 사용 가능한 모든 코어
+    @Value("${batch.similarity.product.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * @param from         첫 번째 기준 책 인덱스 (포함)
+     * @param to           마지막 기준 책 인덱스 (제외)
+     * @param allNeighbors true면 기준 책 앞뒤 모든 이웃, false면 뒤쪽 이웃만 (쌍마다 한 번)
+     * @param sinks        타일마다 하나씩 생성되는 결과 수신자
+     * @return 계산한 책 쌍 수
+     */
+    public long compute(RatingMatrix matrix, int from, int to, boolean allNeighbors, Supplier<RowSink> sinks) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ThreadLocal<ProductRow> rows = ThreadLocal.withInitial(() -> new ProductRow(matrix));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long startTime = System.currentTimeMillis();
+        try {
+            long pairs = pool.invoke(new BlockTask(rows, from, to, allNeighbors, sinks));
+            log.info("Rᵀ·R 계산 완료 - 책 [{}, {}), 쌍 {}개, 스레드 {}개, 타일 크기 {}, {}ms",
+                    from, to, pairs, threads, blockSize, System.currentTimeMillis() - startTime);
+            return pairs;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 타일 하나의 결과를 받는 수신자입니다. 한 타일 안에서는 하나의 스레드만 호출합니다.
+     */
+    public interface RowSink {
+
+        void accept(ProductRow row);
+
+        // 타일 처리가 끝나면 호출 (남은 버퍼 기록)
+        void flush();
+    }
+
+    private final class BlockTask extends RecursiveTask<Long> {
+
+        private final ThreadLocal<ProductRow> rows;
+        private final int from;
+        private final int to;
+        private final boolean allNeighbors;
+        private final Supplier<RowSink> sinks;
+
+        private BlockTask(ThreadLocal<ProductRow> rows, int from, int to, boolean allNeighbors,
+                          Supplier<RowSink> sinks) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.allNeighbors = allNeighbors;
+            this.sinks = sinks;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > Math.max(1, blockSize)) {
+                int middle = (from + to) >>> 1;
+                BlockTask left = new BlockTask(rows, from, middle, allNeighbors, sinks);
+                BlockTask right = new BlockTask(rows, middle, to, allNeighbors, sinks);
+                left.fork();
+                long rightPairs = right.compute();
+                return left.join() + rightPairs;
+            }
+
+            ProductRow row = rows.get();
+            RowSink sink = sinks.get();
+            long pairs = 0;
+            for (int book = from; book < to; book++) {
+                row.compute(book, allNeighbors);
+                pairs += row.size();
+                sink.accept(row);
+            }
+            sink.flush();
+            return pairs;
+        }
+    }
+}
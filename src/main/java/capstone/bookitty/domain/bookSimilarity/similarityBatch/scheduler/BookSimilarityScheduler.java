@@ -1,15 +1,32 @@
 package capstone.bookitty.domain.bookSimilarity.similarityBatch.scheduler;
 
 import capstone.bookitty.domain.bookSimilarity.application.BatchStateService;
+import capstone.bookitty.domain.bookSimilarity.repository.ProcessingPauseRedisRepository;
+import capstone.bookitty.domain.star.config.StreamConsumerIdentity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
@@ -17,12 +34,59 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @RequiredArgsConstructor
 public class BookSimilarityScheduler {
 
+    // 시작 시 확인할 최근 JobInstance 수
+    private static final int ABANDONED_SCAN_INSTANCES = 10;
+
+    // 실행한 인스턴스 ID (식별 파라미터가 아니므로 재시작할 때 새 인스턴스로 바뀜)
+    static final String OWNER_PARAMETER = "owner";
+
     private final JobLauncher jobLauncher;
     private final Job bookSimilarityCalculationJob;
+    private final JobRepository jobRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProcessingPauseRedisRepository processingPauseRedisRepository;
+    private final StreamConsumerIdentity streamConsumerIdentity;
     
     private final AtomicBoolean batchExecuting = new AtomicBoolean(false);
 
+    // 같은 JobInstance를 재시작할 수 있는 최대 실행 횟수 (첫 실행 포함)
+    @Value("${batch.similarity.restart.max-attempts:3}")
+    private int maxRestartAttempts;
+
+    // 이보다 오래된 JobInstance는 체크포인트가 현재 데이터와 너무 달라 새로 실행
+    @Value("${batch.similarity.restart.max-age-hours:24}")
+    private long maxRestartAgeHours;
+
+    // 다른 인스턴스가 실행한 STARTED 실행은 메타 데이터가 이 시간 동안 갱신되지 않았을 때만 버려진 것으로 봄
+    @Value("${batch.similarity.abandoned.stale-minutes:60}")
+    private long abandonedStaleMinutes;
+
+    /**
+     * 프로세스가 실행 도중 종료되면 메타 DB에 STARTED/UNKNOWN 상태의 실행이 남아 재시작할 수 없게 됩니다.
+     * 여러 인스턴스가 같은 메타 DB를 쓰므로, 실행한 프로세스가 사라진 것이 확실한 실행만 FAILED로 바꿉니다.
+     * - 이 인스턴스가 실행한 것 (같은 인스턴스 ID로 다시 시작했으므로 이전 프로세스는 종료됨)
+     * - 다른 인스턴스가 실행했지만 그 인스턴스가 배치 중단 플래그를 들고 있지 않고,
+     *   Job/Step 메타 데이터가 stale-minutes 동안 갱신되지 않은 것 (청크/조각마다 갱신되므로 살아 있으면 계속 바뀜)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markAbandonedExecutionsFailed() {
+        try {
+            String instanceId = streamConsumerIdentity.instanceId();
+            String liveOwner = currentPauseOwner();
+            List<JobInstance> instances = jobRepository.findJobInstancesByName(
+                    bookSimilarityCalculationJob.getName(), 0, ABANDONED_SCAN_INSTANCES);
+            for (JobInstance instance : instances) {
+                for (JobExecution execution : jobRepository.findJobExecutions(instance)) {
+                    if (isAbandoned(execution.getStatus()) && isOwnerGone(execution, instanceId, liveOwner)) {
+                        markFailed(execution);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("버려진 배치 실행 정리 실패", e);
+        }
+    }
+
     //@Scheduled(cron = "0 0 4 * * ?") // 매일 새벽 4시 실행
     //@Scheduled(cron = "0 * * * * ?") // 매 분 0초에 실행
     public void runBookSimilarityCalculation() {
@@ -35,10 +99,7 @@ public class BookSimilarityScheduler {
         try {
             log.info("스케줄러에 의한 책 간 유사도 계산 배치 실행 시작");
 
-            JobParameters jobParameters = new JobParametersBuilder()
-                    .addLong("timestamp", System.currentTimeMillis())
-                    .addString("trigger", "scheduler")
-                    .toJobParameters();
+            JobParameters jobParameters = resolveJobParameters();
 
             jobLauncher.run(bookSimilarityCalculationJob, jobParameters);
             log.info("책 간 유사도 계산 배치 실행 성공");
@@ -52,6 +113,115 @@ public class BookSimilarityScheduler {
 
     }
     
+    /**
+     * 직전 실행이 실패/중단되었다면 같은 파라미터로 실행하여 메타 DB에 저장된 체크포인트부터 재시작하고,
+     * 그렇지 않으면 새 JobInstance를 만듭니다.
+     * 같은 JobInstance가 max-attempts번 실행되었거나 max-age-hours보다 오래되었으면 재시작하지 않습니다.
+     */
+    private JobParameters resolveJobParameters() {
+        JobInstance lastInstance = findLastInstance();
+        List<JobExecution> executions = lastInstance == null ? List.of() : jobRepository.findJobExecutions(lastInstance);
+        JobExecution lastExecution = executions.stream()
+                .max(Comparator.comparing(JobExecution::getId))
+                .orElse(null);
+
+        if (lastExecution != null && isRestartable(lastExecution.getStatus())) {
+            if (executions.size() >= maxRestartAttempts) {
+                log.warn("직전 JobInstance(ID: {})가 이미 {}번 실행되어 재시작하지 않고 새로 실행합니다.",
+                        lastInstance.getInstanceId(), executions.size());
+            } else if (isTooOld(executions)) {
+                log.warn("직전 JobInstance(ID: {})가 {}시간보다 오래되어 재시작하지 않고 새로 실행합니다.",
+                        lastInstance.getInstanceId(), maxRestartAgeHours);
+            } else {
+                log.info("직전 실행(ID: {}, 상태: {})을 마지막 체크포인트부터 재시작합니다. ({}번째 실행)",
+                        lastExecution.getId(), lastExecution.getStatus(), executions.size() + 1);
+                return new JobParametersBuilder(lastExecution.getJobParameters())
+                        .addString(OWNER_PARAMETER, streamConsumerIdentity.instanceId(), false)
+                        .toJobParameters();
+            }
+        }
+
+        return new JobParametersBuilder()
+                .addLong("timestamp", System.currentTimeMillis())
+                .addString("trigger", "scheduler")
+                .addString(OWNER_PARAMETER, streamConsumerIdentity.instanceId(), false)
+                .toJobParameters();
+    }
+
+    private JobInstance findLastInstance() {
+        List<JobInstance> instances = jobRepository.findJobInstancesByName(bookSimilarityCalculationJob.getName(), 0, 1);
+        return instances.isEmpty() ? null : instances.get(0);
+    }
+
+    private boolean isRestartable(BatchStatus status) {
+        return status == BatchStatus.FAILED || status == BatchStatus.STOPPED;
+    }
+
+    // 첫 실행의 생성 시각 기준
+    private boolean isTooOld(List<JobExecution> executions) {
+        LocalDateTime firstCreated = executions.stream()
+                .map(JobExecution::getCreateTime)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        return firstCreated != null
+                && Duration.between(firstCreated, LocalDateTime.now()).toHours() >= maxRestartAgeHours;
+    }
+
+    private boolean isAbandoned(BatchStatus status) {
+        return status.isRunning() || status == BatchStatus.UNKNOWN;
+    }
+
+    private boolean isOwnerGone(JobExecution execution, String instanceId, String liveOwner) {
+        String owner = execution.getJobParameters().getString(OWNER_PARAMETER);
+        if (instanceId.equals(owner)) {
+            return true;
+        }
+        if (owner != null && owner.equals(liveOwner)) {
+            log.info("인스턴스 {}가 실행 중인 배치(ID: {})는 건너뜁니다.", owner, execution.getId());
+            return false;
+        }
+
+        LocalDateTime lastUpdated = Stream.concat(Stream.of(execution.getLastUpdated()),
+                        execution.getStepExecutions().stream().map(StepExecution::getLastUpdated))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(execution.getCreateTime());
+        boolean stale = lastUpdated == null
+                || Duration.between(lastUpdated, LocalDateTime.now()).toMinutes() >= abandonedStaleMinutes;
+        if (!stale) {
+            log.info("배치 실행(ID: {}, 실행 인스턴스: {})이 {}에 갱신되어 실행 중으로 보고 건너뜁니다.",
+                    execution.getId(), owner, lastUpdated);
+        }
+        return stale;
+    }
+
+    // Redis를 읽지 못하면 메타 데이터 갱신 시각만으로 판단
+    private String currentPauseOwner() {
+        try {
+            return processingPauseRedisRepository.owner();
+        } catch (Exception e) {
+            log.warn("배치 중단 플래그를 읽지 못했습니다.", e);
+            return null;
+        }
+    }
+
+    private void markFailed(JobExecution execution) {
+        LocalDateTime now = LocalDateTime.now();
+        for (StepExecution stepExecution : execution.getStepExecutions()) {
+            if (isAbandoned(stepExecution.getStatus())) {
+                stepExecution.setStatus(BatchStatus.FAILED);
+                stepExecution.setExitStatus(ExitStatus.FAILED.addExitDescription("프로세스 종료로 중단됨"));
+                stepExecution.setEndTime(now);
+                jobRepository.update(stepExecution);
+            }
+        }
+        log.warn("버려진 배치 실행(ID: {}, 상태: {})을 FAILED로 변경합니다.", execution.getId(), execution.getStatus());
+        execution.setStatus(BatchStatus.FAILED);
+        execution.setExitStatus(ExitStatus.FAILED.addExitDescription("프로세스 종료로 중단됨"));
+        execution.setEndTime(now);
+        jobRepository.update(execution);
+    }
+
     public boolean acquireBatchLock() {
         if (batchExecuting.compareAndSet(false, true)) {
             eventPublisher.publishEvent(new BatchStateService.BatchStartEvent(this));
@@ -0,0 +1,34 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet;
+
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.config.SimilarityJobParameters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * 증분 계산 Step이 모두 커밋된 뒤 워터마크 이하의 변경 ISBN을 한 번의 ZREMRANGEBYSCORE로 지웁니다.
+ * 계산 도중 다시 바뀐 ISBN은 점수가 워터마크보다 커서 남아 있고, 다음 실행에서 처리됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DirtyIsbnClearTasklet implements Tasklet {
+
+    private final DirtyIsbnRedisRepository dirtyIsbnRedisRepository;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        long watermark = SimilarityJobParameters.generationStart(
+                chunkContext.getStepContext().getStepExecution().getJobExecution()).getTime();
+
+        long removed = dirtyIsbnRedisRepository.removeChangedUntil(watermark);
+        log.info("변경 ISBN 정리 완료 - 워터마크: {}, 삭제: {}개, 남은 ISBN: {}개",
+                watermark, removed, dirtyIsbnRedisRepository.count());
+        return RepeatStatus.FINISHED;
+    }
+}
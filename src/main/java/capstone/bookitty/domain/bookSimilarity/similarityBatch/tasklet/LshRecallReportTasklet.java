@@ -0,0 +1,117 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGenerator.Candidates;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * LSH 근사 모드로 실행한 경우, 표본 책들에 대해 정확 모드와 근사 모드가 찾은 유사 쌍을 비교해
+ * 재현율과 후보 감소율을 기록합니다. 결과는 로그와 Step ExecutionContext(메타 DB)에 남습니다.
+ * exact 모드에서는 아무 작업도 하지 않습니다.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class LshRecallReportTasklet implements Tasklet {
+
+    static final String RECALL_KEY = "lsh.recall";
+    static final String EXACT_PAIRS_KEY = "lsh.exactPairs";
+    static final String FOUND_PAIRS_KEY = "lsh.foundPairs";
+    static final String CANDIDATE_RATIO_KEY = "lsh.candidateRatio";
+
+    private static final long SAMPLE_SEED = 42L;
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final CandidateGeneratorFactory candidateGeneratorFactory;
+
+    @Value("#{jobParameters['candidate.mode'] ?: 'exact'}")
+    private String candidateMode;
+
+    @Value("#{jobParameters['lsh.bands'] ?: 32}")
+    private int lshBands;
+
+    @Value("#{jobParameters['lsh.rows'] ?: 2}")
+    private int lshRows;
+
+    @Value("#{jobParameters['lsh.recall-sample'] ?: 200}")
+    private int sampleSize;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (!CandidateGeneratorFactory.isLsh(candidateMode) || sampleSize <= 0) {
+            return RepeatStatus.FINISHED;
+        }
+
+        RatingMatrix matrix = ratingMatrixEngine.matrix();
+        if (matrix.bookCount() == 0) {
+            return RepeatStatus.FINISHED;
+        }
+
+        CandidateGenerator exact = candidateGeneratorFactory.create(
+                matrix, CandidateGeneratorFactory.EXACT_MODE, lshBands, lshRows);
+        CandidateGenerator approximate = candidateGeneratorFactory.create(
+                matrix, CandidateGeneratorFactory.LSH_MODE, lshBands, lshRows);
+
+        long exactPairs = 0;
+        long foundPairs = 0;
+        long exactCandidates = 0;
+        long approximateCandidates = 0;
+
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        int samples = Math.min(sampleSize, matrix.bookCount());
+        for (int s = 0; s < samples; s++) {
+            int book = random.nextInt(matrix.bookCount());
+            Candidates exactNeighbors = exact.generateAll(book);
+            Candidates approximateNeighbors = approximate.generateAll(book);
+            exactCandidates += exactNeighbors.size();
+            approximateCandidates += approximateNeighbors.size();
+
+            // 유사도 기준을 통과하는 정확 모드 쌍 중 근사 모드가 찾은 비율
+            for (int other : exactNeighbors.books()) {
+                if (!isSimilar(book, other)) {
+                    continue;
+                }
+                exactPairs++;
+                if (Arrays.binarySearch(approximateNeighbors.books(), other) >= 0) {
+                    foundPairs++;
+                }
+            }
+        }
+
+        double recall = exactPairs == 0 ? 1.0 : (double) foundPairs / exactPairs;
+        double candidateRatio = exactCandidates == 0 ? 0.0 : (double) approximateCandidates / exactCandidates;
+
+        ExecutionContext context = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        context.putDouble(RECALL_KEY, recall);
+        context.putLong(EXACT_PAIRS_KEY, exactPairs);
+        context.putLong(FOUND_PAIRS_KEY, foundPairs);
+        context.putDouble(CANDIDATE_RATIO_KEY, candidateRatio);
+
+        log.info("LSH 재현율 리포트 - 표본 책: {}권, bands: {}, rows: {}, 재현율: {} ({}/{}), 후보 비율: {} ({}/{})",
+                samples, lshBands, lshRows, String.format("%.4f", recall), foundPairs, exactPairs,
+                String.format("%.4f", candidateRatio), approximateCandidates, exactCandidates);
+        return RepeatStatus.FINISHED;
+    }
+
+    private boolean isSimilar(int book, int other) {
+        double similarity = ratingMatrixEngine.accumulate(book, other).similarity();
+        return Math.abs(similarity) >= BookSimilarityService.MIN_SIMILARITY_THRESHOLD;
+    }
+}
@@ -0,0 +1,211 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.BookSimilarityWriter;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookNeighborsDto;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk.BookNeighborWriter;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk.TopKNeighborHeap;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.product.ProductRow;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.product.SparseProductSimilarityEngine;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.product.SparseProductSimilarityEngine.RowSink;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 전체 재계산을 쌍 단위 Reader/Processor 대신 Rᵀ·R 행렬 곱 엔진으로 수행합니다.
+ * 타일마다 결과를 버퍼에 모았다가 기존 Writer로 바로 기록하므로, 저장 규칙(통계, 섀도 테이블, Top-K)은
+ * 청크 모드와 같습니다. Writer 호출은 타일 스레드에서 각자의 커넥션으로 자동 커밋됩니다.
+ * 계산 스레드 수는 코어 수를 따르므로, 동시에 기록하는 타일 수는 커넥션 풀 크기에 맞춰 따로 제한합니다.
+ * (풀이 고갈되면 실시간 경로와 배치 메타 데이터 갱신까지 커넥션을 기다리게 됨)
+ *
+ * 책 범위를 slice-size 단위로 나누어 한 번의 execute에서 한 조각만 계산하고 CONTINUABLE을 반환합니다.
+ * 조각이 끝날 때마다 다음 조각의 시작 ISBN이 스텝 ExecutionContext(메타 DB)에 저장되므로,
+ * 실패 후 재시작하면 마지막으로 끝난 조각 다음부터 이어갑니다.
+ *
+ * 타일 기록은 스텝 트랜잭션 밖(ForkJoin 스레드, 자동 커밋)에서 일어나므로 체크포인트와 원자적이지 않습니다.
+ * 조각이 중간에 실패하면 이미 커밋된 행은 남고 NEXT_ISBN은 그대로여서, 재시작 시 같은 조각을 처음부터 다시 기록합니다.
+ * 따라서 sink가 호출하는 기록은 모두 같은 키를 덮어쓰는 멱등 upsert여야 합니다.
+ * (BookSimilarityWriter, BookNeighborWriter 모두 INSERT ... ON DUPLICATE KEY UPDATE)
+ * 누적 갱신이나 단순 INSERT처럼 멱등이 아닌 기록을 추가하려면, 결과를 스텝 스레드로 모아 스텝 트랜잭션 안에서 기록해야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarityProductTasklet implements Tasklet {
+
+    private static final int FLUSH_SIZE = 1000;
+    // 풀 크기에서 계산할 때 실시간 경로 등을 위해 남겨 두는 커넥션 수
+    private static final int RESERVED_CONNECTIONS = 2;
+
+    static final String NEXT_ISBN_KEY = "similarityProduct.nextIsbn";
+    static final String FINISHED_KEY = "similarityProduct.finished";
+
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final SparseProductSimilarityEngine sparseProductSimilarityEngine;
+    private final BookSimilarityWriter bookSimilarityWriter;
+    private final BookNeighborWriter bookNeighborWriter;
+    private final DataSource dataSource;
+
+    @Value("${batch.similarity.top-k:0}")
+    private int topK;
+
+    // 한 번의 execute(= 체크포인트 간격)에서 계산할 책 수
+    @Value("${batch.similarity.product.slice-size:5000}")
+    private int sliceSize;
+
+    // 동시에 기록하는 타일 수 (0이면 커넥션 풀 크기 - RESERVED_CONNECTIONS)
+    @Value("${batch.similarity.product.max-concurrent-writers:0}")
+    private int maxConcurrentWriters;
+
+    private Semaphore writerPermits;
+
+    @PostConstruct
+    public void init() {
+        int permits = maxConcurrentWriters > 0 ? maxConcurrentWriters : Math.max(1, poolSize() - RESERVED_CONNECTIONS);
+        writerPermits = new Semaphore(permits);
+        log.info("행렬 곱 동시 기록 수 제한: {}", permits);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        if (executionContext.containsKey(FINISHED_KEY)) {
+            return RepeatStatus.FINISHED;
+        }
+
+        RatingMatrix matrix = ratingMatrixEngine.matrix();
+        String nextIsbn = executionContext.getString(NEXT_ISBN_KEY, null);
+        int from = nextIsbn == null ? 0 : matrix.lowerBound(nextIsbn);
+        int to = (int) Math.min(matrix.bookCount(), (long) from + Math.max(1, sliceSize));
+
+        if (from < to) {
+            long pairs = topK > 0
+                    ? sparseProductSimilarityEngine.compute(matrix, from, to, true, TopKSink::new)
+                    : sparseProductSimilarityEngine.compute(matrix, from, to, false, PairSink::new);
+            contribution.incrementWriteCount(pairs);
+            log.info("행렬 곱 조각 완료 - 책 [{}, {}) / {}, 기록: {}개", from, to, matrix.bookCount(), pairs);
+        }
+
+        // 트랜잭션 커밋과 함께 저장되는 체크포인트
+        if (to >= matrix.bookCount()) {
+            executionContext.remove(NEXT_ISBN_KEY);
+            executionContext.putString(FINISHED_KEY, "true");
+            return RepeatStatus.FINISHED;
+        }
+        executionContext.putString(NEXT_ISBN_KEY, matrix.isbn(to));
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    private int poolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("커넥션 풀 크기를 확인하지 못했습니다.", e);
+        }
+        // Hikari 기본 풀 크기
+        return 10;
+    }
+
+    // 커넥션 풀을 넘지 않도록 허가를 받은 타일만 기록 (자동 커밋 - 기록은 멱등 upsert여야 함, 클래스 주석 참고)
+    private void writeBounded(Runnable write) {
+        writerPermits.acquireUninterruptibly();
+        try {
+            write.run();
+        } finally {
+            writerPermits.release();
+        }
+    }
+
+    // 공통 평가자 기준을 넘는 모든 쌍을 기록
+    private final class PairSink implements RowSink {
+
+        private final List<BookSimilarityResult> buffer = new ArrayList<>(FLUSH_SIZE);
+
+        @Override
+        public void accept(ProductRow row) {
+            for (int k = 0; k < row.size(); k++) {
+                if (row.commonUsers(k) >= BookSimilarityService.MIN_COMMON_USERS) {
+                    buffer.add(row.toResult(k));
+                }
+            }
+            if (buffer.size() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (!buffer.isEmpty()) {
+                writeBounded(() -> bookSimilarityWriter.write(new Chunk<>(buffer)));
+                buffer.clear();
+            }
+        }
+    }
+
+    // 책마다 유사도 상위 K개 이웃만 기록
+    private final class TopKSink implements RowSink {
+
+        private final TopKNeighborHeap heap = new TopKNeighborHeap(topK);
+        private final List<BookNeighborsDto> buffer = new ArrayList<>();
+        private int buffered;
+
+        @Override
+        public void accept(ProductRow row) {
+            heap.clear();
+            for (int k = 0; k < row.size(); k++) {
+                if (row.commonUsers(k) < BookSimilarityService.MIN_COMMON_USERS) {
+                    continue;
+                }
+                double similarity = row.similarity(k);
+                if (Math.abs(similarity) >= BookSimilarityService.MIN_SIMILARITY_THRESHOLD) {
+                    // 힙에는 행 안의 위치(k)를 넣어 결과 생성 시 다시 계산하지 않음
+                    heap.offer(k, similarity);
+                }
+            }
+            if (heap.size() == 0) {
+                return;
+            }
+
+            int[] positions = heap.drainDescending();
+            List<BookSimilarityResult> neighbors = new ArrayList<>(positions.length);
+            for (int k : positions) {
+                neighbors.add(row.toResult(k));
+            }
+            buffer.add(new BookNeighborsDto(row.isbn(), neighbors));
+            buffered += neighbors.size();
+            if (buffered >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (!buffer.isEmpty()) {
+                writeBounded(() -> bookNeighborWriter.write(new Chunk<>(buffer)));
+                buffer.clear();
+                buffered = 0;
+            }
+        }
+    }
+}
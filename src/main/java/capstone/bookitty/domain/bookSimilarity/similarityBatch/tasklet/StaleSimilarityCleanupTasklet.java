@@ -0,0 +1,165 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityTableManager;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.config.SimilarityJobParameters;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import capstone.bookitty.global.entity.BaseEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 공동 평가 기반 후보 생성은 함께 평가된 쌍만 다루므로, 공통 평가자가 줄어 후보에서 빠진 쌍의
+ * 기존 유사도는 Writer가 지울 수 없습니다. 계산 Step 이후 저장된 쌍을 평점 행렬과 대조하여
+ * 공통 평가자 수 기준(MIN_COMMON_USERS)에 못 미치는 쌍을 삭제합니다.
+ * 실시간 경로가 누적한 쌍 통계도 같은 기준으로 정리하여, 이후 이벤트가 정확한 값을 다시 계산하게 합니다.
+ *
+ * Top-K 모드에서는 이번 실행이 기록한 쌍만 유지해야 하므로, Job 최초 실행 시각 이전에 갱신된 행을 삭제합니다.
+ * (재시작해도 같은 JobInstance의 파라미터를 사용하므로, 앞선 실행에서 완료된 파티션의 행은 유지됨)
+ * LSH 후보 모드도 같은 방식으로 정리합니다. 버킷을 공유하지 않아 후보에서 빠진 쌍은 여전히 공동 평가되더라도
+ * 이번 실행에서 다시 기록되지 않으므로, 공통 평가자 기준만으로는 지난 실행의 값이 그대로 남기 때문입니다.
+ *
+ * 테이블 전체를 한 트랜잭션에서 읽고 지우지 않도록, 한 번의 execute에서 (isbn1, isbn2) 키 순서로 한 페이지만
+ * 처리하고 CONTINUABLE을 반환합니다. 페이지마다 커밋되며 마지막 키가 스텝 ExecutionContext에 저장되므로,
+ * 재시작하면 마지막으로 커밋된 페이지 다음부터 이어갑니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleSimilarityCleanupTasklet implements Tasklet {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    static final String TABLE_INDEX_KEY = "staleCleanup.tableIndex";
+    static final String LAST_ISBN1_KEY = "staleCleanup.lastIsbn1";
+    static final String LAST_ISBN2_KEY = "staleCleanup.lastIsbn2";
+    static final String DELETED_KEY_PREFIX = "staleCleanup.deleted.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RatingMatrixEngine ratingMatrixEngine;
+    private final BookSimilarityTableManager bookSimilarityTableManager;
+
+    @Value("${batch.similarity.top-k:0}")
+    private int topK;
+
+    // 한 번의 execute(= 한 트랜잭션)에서 확인하거나 삭제할 행 수
+    @Value("${batch.similarity.cleanup.page-size:10000}")
+    private int pageSize;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        List<String> tables = tables();
+        int tableIndex = executionContext.getInt(TABLE_INDEX_KEY, 0);
+
+        if (tableIndex < tables.size()) {
+            String table = tables.get(tableIndex);
+            int limit = Math.max(1, pageSize);
+            Page page = deletesByGeneration(stepExecution)
+                    ? deleteNotModifiedSince(table, SimilarityJobParameters.generationStart(stepExecution.getJobExecution()), limit)
+                    : deleteStale(table, executionContext.getString(LAST_ISBN1_KEY, null),
+                    executionContext.getString(LAST_ISBN2_KEY, null), limit);
+
+            contribution.incrementWriteCount(page.deleted());
+            executionContext.putLong(DELETED_KEY_PREFIX + table,
+                    executionContext.getLong(DELETED_KEY_PREFIX + table, 0L) + page.deleted());
+
+            // 트랜잭션 커밋과 함께 저장되는 체크포인트
+            if (page.scanned() < limit) {
+                executionContext.putInt(TABLE_INDEX_KEY, ++tableIndex);
+                executionContext.remove(LAST_ISBN1_KEY);
+                executionContext.remove(LAST_ISBN2_KEY);
+            } else if (page.lastIsbn1() != null) {
+                executionContext.putString(LAST_ISBN1_KEY, page.lastIsbn1());
+                executionContext.putString(LAST_ISBN2_KEY, page.lastIsbn2());
+            }
+            if (tableIndex < tables.size()) {
+                return RepeatStatus.CONTINUABLE;
+            }
+        }
+
+        log.info("공통 평가자 기준 미달 정리 완료: 유사도 {}개, 쌍 통계 {}개 삭제",
+                executionContext.getLong(DELETED_KEY_PREFIX + BookSimilarityJdbcRepository.TABLE, 0L),
+                executionContext.getLong(DELETED_KEY_PREFIX + BookPairStatisticsJdbcRepository.TABLE, 0L));
+        return RepeatStatus.FINISHED;
+    }
+
+    // Top-K와 LSH 후보 모드는 이번 실행이 기록하지 않은 쌍을 모두 지움
+    private boolean deletesByGeneration(StepExecution stepExecution) {
+        String candidateMode = stepExecution.getJobExecution().getJobParameters()
+                .getString(CandidateGeneratorFactory.MODE_PARAMETER);
+        return topK > 0 || CandidateGeneratorFactory.isLsh(candidateMode);
+    }
+
+    // 섀도 테이블은 이번 실행의 결과만 담으므로 유사도 정리가 필요 없음
+    private List<String> tables() {
+        return bookSimilarityTableManager.isShadowEnabled()
+                ? List.of(BookPairStatisticsJdbcRepository.TABLE)
+                : List.of(BookSimilarityJdbcRepository.TABLE, BookPairStatisticsJdbcRepository.TABLE);
+    }
+
+    /**
+     * 마지막 키 다음부터 한 페이지를 읽어 공통 평가자 기준에 못 미치는 쌍을 삭제합니다.
+     * 삭제되는 행은 모두 커서보다 앞에 있으므로 다음 페이지의 위치에 영향을 주지 않습니다.
+     */
+    private Page deleteStale(String table, String lastIsbn1, String lastIsbn2, int limit) {
+        List<Object[]> staleIds = new ArrayList<>();
+        String[] last = {lastIsbn1, lastIsbn2};
+        int[] scanned = {0};
+
+        RowCallbackHandler handler = rs -> {
+            String isbn1 = rs.getString(1);
+            String isbn2 = rs.getString(2);
+            int commonUsers = ratingMatrixEngine.similarity(isbn1, isbn2).commonUsers();
+            if (commonUsers < BookSimilarityService.MIN_COMMON_USERS) {
+                staleIds.add(new Object[]{isbn1, isbn2});
+            }
+            last[0] = isbn1;
+            last[1] = isbn2;
+            scanned[0]++;
+        };
+        if (lastIsbn1 == null) {
+            jdbcTemplate.query("SELECT isbn1, isbn2 FROM " + table + " ORDER BY isbn1, isbn2 LIMIT ?", handler, limit);
+        } else {
+            jdbcTemplate.query("SELECT isbn1, isbn2 FROM " + table + " WHERE (isbn1, isbn2) > (?, ?)"
+                    + " ORDER BY isbn1, isbn2 LIMIT ?", handler, lastIsbn1, lastIsbn2, limit);
+        }
+
+        for (int from = 0; from < staleIds.size(); from += DELETE_BATCH_SIZE) {
+            List<Object[]> batch = staleIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, staleIds.size()));
+            jdbcTemplate.batchUpdate("DELETE FROM " + table + " WHERE isbn1 = ? AND isbn2 = ?", batch);
+        }
+        return new Page(scanned[0], staleIds.size(), last[0], last[1]);
+    }
+
+    // 삭제한 행은 조건에서 빠지므로 커서 없이 LIMIT만으로 다음 페이지를 지움
+    private Page deleteNotModifiedSince(String table, Timestamp cutoff, int limit) {
+        int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE " + BaseEntity.MODIFIED_DATE_COLUMN
+                + " < ? LIMIT ?", cutoff, limit);
+        return new Page(deleted, deleted, null, null);
+    }
+
+    /**
+     * @param scanned 이번 페이지에서 확인한 행 수 (페이지 크기보다 작으면 테이블 끝)
+     */
+    private record Page(int scanned, int deleted, String lastIsbn1, String lastIsbn2) {
+    }
+}
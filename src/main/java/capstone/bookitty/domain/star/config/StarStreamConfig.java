@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
 
 import java.time.Duration;
@@ -21,13 +22,13 @@ public class StarStreamConfig {
 
     public static final String STAR_EVENTS_STREAM = "star-events";
     public static final String SIMILARITY_CONSUMER_GROUP = "similarity-processor";
-    public static final String SIMILARITY_CONSUMER_NAME = "similarity-consumer-1";
-    public static final int MAX_STREAM_LENGTH = 5000;
+    // 생산자는 길이를 자르지 않으므로, 소비가 멈춰 이 길이를 넘으면 경고만 남김 (트리밍은 StarStreamTrimmer)
+    public static final int ALERT_STREAM_LENGTH = 1_000_000;
 
     @Qualifier("redisTemplate")
     private final RedisTemplate<String, Object> redisTemplate;
     private final RedisConnectionFactory connectionFactory;
-    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> listenerContainer;
+    private StreamMessageListenerContainer<String, MapRecord<String, byte[], byte[]>> listenerContainer;
 
     @PostConstruct
     public void initializeStream() {
@@ -47,11 +48,14 @@ public class StarStreamConfig {
         }
     }
 
+    // 값은 StarEventStreamStore가 직접 복원하므로 필드를 바이트 그대로 전달
     @Bean
-    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> starStreamMessageListenerContainer() {
+    public StreamMessageListenerContainer<String, MapRecord<String, byte[], byte[]>> starStreamMessageListenerContainer() {
         var options = StreamMessageListenerContainer.StreamMessageListenerContainerOptions
                 .builder()
                 .pollTimeout(Duration.ofMillis(1000))  // 1초 대기
+                .hashKeySerializer(RedisSerializer.byteArray())
+                .hashValueSerializer(RedisSerializer.byteArray())
                 .build();
 
         this.listenerContainer = StreamMessageListenerContainer.create(connectionFactory, options);
@@ -0,0 +1,77 @@
+package capstone.bookitty.domain.star.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이 인스턴스가 similarity-processor 그룹에서 사용할 consumer 이름을 정합니다.
+ * 이름은 "similarity-consumer-{인스턴스 ID}-{번호}" 형식이며, 인스턴스 ID를 지정하지 않으면 호스트 이름을 사용합니다.
+ * 같은 호스트에서 재시작하면 같은 이름을 다시 쓰므로 자신의 pending 메시지를 이어서 처리할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class StreamConsumerIdentity {
+
+    public static final String SIMILARITY_CONSUMER_PREFIX = "similarity-consumer";
+
+    @Value("${similarity.stream.instance-id:}")
+    private String instanceId;
+
+    // 인스턴스마다 동시에 읽는 consumer 수
+    @Value("${similarity.stream.consumers:2}")
+    private int consumerCount;
+
+    private List<String> consumerNames;
+
+    @PostConstruct
+    public void init() {
+        if (!StringUtils.hasText(instanceId)) {
+            instanceId = resolveHostName();
+        }
+        List<String> names = new ArrayList<>();
+        for (int k = 1; k <= Math.max(1, consumerCount); k++) {
+            names.add(SIMILARITY_CONSUMER_PREFIX + "-" + instanceId + "-" + k);
+        }
+        this.consumerNames = List.copyOf(names);
+        log.info("Redis Streams consumer 이름 결정 - 인스턴스: {}, consumer: {}", instanceId, consumerNames);
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public List<String> consumerNames() {
+        return consumerNames;
+    }
+
+    // 회수한 메시지를 넘겨받는 consumer
+    public String primaryConsumerName() {
+        return consumerNames.get(0);
+    }
+
+    public boolean isOwn(String consumerName) {
+        return consumerNames.contains(consumerName);
+    }
+
+    //== private methods ==//
+
+    private String resolveHostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (StringUtils.hasText(hostName)) {
+            return hostName;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            // 호스트 이름을 알 수 없으면 프로세스 ID로 구분
+            return "pid" + ProcessHandle.current().pid();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package capstone.bookitty.domain.star.domain;
+
+import capstone.bookitty.domain.star.event.StarRatingEvent;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 평점 변경과 같은 트랜잭션에서 기록되는 이벤트 아웃박스입니다.
+ * Redis Streams에 기록되면 행이 삭제되고, 남아 있는 행은 StarEventOutboxRelay가 다시 전달합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "star_event_outbox",
+        indexes = {
+                @Index(name = "idx_star_event_outbox_occurred_at", columnList = "occurred_at"),
+        }
+)
+public class StarEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 13, nullable = false)
+    private String isbn;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    // StarEventOutboxJdbcRepository가 직접 읽는 컬럼이므로 이름을 명시
+    @Column(name = "previous_score")
+    private Double previousScore;
+
+    @Column(name = "current_score")
+    private Double currentScore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 16, nullable = false)
+    private EventType eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // 변경 시점에 회원이 평가한 다른 책의 평점 ("isbn=평점,isbn=평점" 형식)
+    @Column(name = "other_scores", columnDefinition = "TEXT")
+    private String otherScores;
+
+    private StarEventOutbox(StarRatingEvent event) {
+        this.isbn = event.getIsbn();
+        this.memberId = event.getMemberId();
+        this.previousScore = event.getPreviousScore();
+        this.currentScore = event.getCurrentScore();
+        this.eventType = event.getEventType();
+        this.occurredAt = event.getOccurredAt();
+        this.otherScores = formatScores(event.getOtherScores());
+    }
+
+    public static StarEventOutbox from(StarRatingEvent event) {
+        return new StarEventOutbox(event);
+    }
+
+    public static String formatScores(Map<String, Double> scores) {
+        if (scores == null) {
+            return null;
+        }
+        return scores.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    public static Map<String, Double> parseScores(String text) {
+        if (text == null) {
+            return null;
+        }
+        Map<String, Double> scores = new LinkedHashMap<>();
+        if (text.isEmpty()) {
+            return scores;
+        }
+        for (String entry : text.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            scores.put(entry.substring(0, separator), Double.valueOf(entry.substring(separator + 1)));
+        }
+        return scores;
+    }
+}
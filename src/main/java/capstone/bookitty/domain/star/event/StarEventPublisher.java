@@ -1,35 +1,75 @@
 package capstone.bookitty.domain.star.event;
 
+import capstone.bookitty.domain.star.domain.Star;
+import capstone.bookitty.domain.star.domain.StarEventOutbox;
+import capstone.bookitty.domain.star.repository.StarEventOutboxRepository;
+import capstone.bookitty.domain.star.repository.StarRepository;
+import capstone.bookitty.global.config.DataDBConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 평점 변경 이벤트를 아웃박스에 기록한 뒤 발행합니다.
+ * 아웃박스 행은 평점 변경과 같은 트랜잭션에 포함되므로, 커밋 후 Redis에 쓰지 못해도 이벤트가 사라지지 않습니다.
+ *
+ * 이벤트에는 그 시점에 회원이 평가한 다른 책의 평점을 함께 싣습니다. 소비자가 처리 시점의 평점을 읽으면
+ * 아직 처리되지 않은 다른 책의 변경이 미리 섞여 쌍 통계가 어긋나기 때문입니다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class StarEventPublisher {
     
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final StarEventOutboxRepository starEventOutboxRepository;
+    private final StarRepository starRepository;
     
+    @Transactional(value = DataDBConfig.DATA_TRANSACTION_MANAGER, propagation = Propagation.MANDATORY)
     public void publishStarCreated(String isbn, Long memberId, Double score) {
         StarRatingEvent event = StarRatingEvent.created(isbn, memberId, score);
         log.info("[Event] Star rating created event published - ISBN: {}, MemberId: {}, Score: {}", 
             isbn, memberId, score);
-        applicationEventPublisher.publishEvent(event);
+        publish(event);
     }
     
+    @Transactional(value = DataDBConfig.DATA_TRANSACTION_MANAGER, propagation = Propagation.MANDATORY)
     public void publishStarUpdated(String isbn, Long memberId, Double previousScore, Double currentScore) {
         StarRatingEvent event = StarRatingEvent.updated(isbn, memberId, previousScore, currentScore);
         log.info("[Event] Star rating updated event published - ISBN: {}, MemberId: {}, Previous: {}, Current: {}", 
             isbn, memberId, previousScore, currentScore);
-        applicationEventPublisher.publishEvent(event);
+        publish(event);
     }
     
+    @Transactional(value = DataDBConfig.DATA_TRANSACTION_MANAGER, propagation = Propagation.MANDATORY)
     public void publishStarDeleted(String isbn, Long memberId, Double previousScore) {
         StarRatingEvent event = StarRatingEvent.deleted(isbn, memberId, previousScore);
         log.info("[Event] Star rating deleted event published - ISBN: {}, MemberId: {}, Previous: {}", 
             isbn, memberId, previousScore);
-        applicationEventPublisher.publishEvent(event);
+        publish(event);
+    }
+
+    //== private methods ==//
+    
+    private void publish(StarRatingEvent event) {
+        StarRatingEvent snapshot = event.withOtherScores(otherScoresOf(event.getMemberId(), event.getIsbn()));
+        StarEventOutbox outbox = starEventOutboxRepository.save(StarEventOutbox.from(snapshot));
+        applicationEventPublisher.publishEvent(snapshot.withOutboxId(outbox.getId()));
+    }
+
+    private Map<String, Double> otherScoresOf(Long memberId, String isbn) {
+        Map<String, Double> otherScores = new LinkedHashMap<>();
+        for (Star star : starRepository.findByMemberId(memberId)) {
+            if (!star.getIsbn().equals(isbn)) {
+                otherScores.put(star.getIsbn(), star.getScore());
+            }
+        }
+        return otherScores;
     }
-}
\ No newline at end of file
+}
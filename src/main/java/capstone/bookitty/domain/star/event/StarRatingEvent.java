@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Getter
 @RequiredArgsConstructor
@@ -15,6 +16,10 @@ public class StarRatingEvent {
     private final Double currentScore;
     private final EventType eventType;
     private final LocalDateTime occurredAt;
+    // 같은 트랜잭션에서 기록된 아웃박스 행 (Redis Streams에 기록되면 삭제)
+    private final Long outboxId;
+    // 변경 시점에 이 회원이 평가한 다른 책의 평점 (ISBN → 평점), 쌍 통계 증분 갱신에 사용
+    private final Map<String, Double> otherScores;
     
     public static StarRatingEvent created(String isbn, Long memberId, Double currentScore) {
         return new StarRatingEvent(
@@ -23,7 +28,9 @@ public class StarRatingEvent {
             null, 
             currentScore, 
             EventType.CREATED,
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            null,
+            null
         );
     }
     
@@ -34,7 +41,9 @@ public class StarRatingEvent {
             previousScore, 
             currentScore, 
             EventType.UPDATED,
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            null,
+            null
         );
     }
     
@@ -45,10 +54,20 @@ public class StarRatingEvent {
             previousScore, 
             null, 
             EventType.DELETED,
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            null,
+            null
         );
     }
     
+    public StarRatingEvent withOutboxId(Long outboxId) {
+        return new StarRatingEvent(isbn, memberId, previousScore, currentScore, eventType, occurredAt, outboxId, otherScores);
+    }
+    
+    public StarRatingEvent withOtherScores(Map<String, Double> otherScores) {
+        return new StarRatingEvent(isbn, memberId, previousScore, currentScore, eventType, occurredAt, outboxId, otherScores);
+    }
+    
     public enum EventType {
         CREATED, UPDATED, DELETED
     }
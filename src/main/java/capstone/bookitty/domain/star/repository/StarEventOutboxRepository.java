@@ -0,0 +1,7 @@
+package capstone.bookitty.domain.star.repository;
+
+import capstone.bookitty.domain.star.domain.StarEventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StarEventOutboxRepository extends JpaRepository<StarEventOutbox, Long> {
+}
@@ -15,8 +15,14 @@ public interface StarRepository extends JpaRepository<Star, Long>, StarCustomRep
 
     Page<Star> findByMemberId(Long memberId, Pageable pageable);
 
+    List<Star> findByMemberId(Long memberId);
+
     Page<Star> findByIsbn(String isbn, Pageable pageable);
 
     List<Star> findByIsbn(String isbn);
 
+    List<Star> findByMemberIdAndScoreGreaterThanEqual(Long memberId, double score);
+
+    long countByIsbn(String isbn);
+
 }
@@ -52,6 +52,7 @@ public class DataDBConfig {
         em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
 
         Map<String, Object> properties = new HashMap<>();
+        // 스키마는 생성하지 않음. 새 테이블은 resources/db/migration의 스크립트를 배포 전에 적용
         properties.put("hibernate.hbm2ddl.auto", "none");
         properties.put("hibernate.show_sql", "true");
         properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
@@ -15,6 +15,10 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
 
+    // 물리 명명 전략을 지정하지 않으므로 컬럼명은 필드명 그대로 (JDBC로 직접 쓰는 SQL에서 사용)
+    public static final String CREATE_DATE_COLUMN = "createDate";
+    public static final String MODIFIED_DATE_COLUMN = "modifiedDate";
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createDate;
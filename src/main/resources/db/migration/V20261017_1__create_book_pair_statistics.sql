@@ -0,0 +1,14 @@
+-- 책 쌍 충분 통계량 (BookPairStatistics). 실시간 증분 갱신과 배치가 함께 사용
+CREATE TABLE book_pair_statistics (
+    isbn1         VARCHAR(13) NOT NULL,
+    isbn2         VARCHAR(13) NOT NULL,
+    dot_product   DOUBLE      NOT NULL,
+    norm_squared1 DOUBLE      NOT NULL,
+    norm_squared2 DOUBLE      NOT NULL,
+    common_users  INT         NOT NULL,
+    createDate    DATETIME(6),
+    modifiedDate  DATETIME(6),
+    PRIMARY KEY (isbn1, isbn2)
+);
+
+CREATE INDEX idx_pair_statistics_isbn2 ON book_pair_statistics (isbn2);
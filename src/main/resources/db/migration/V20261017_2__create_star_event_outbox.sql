@@ -0,0 +1,15 @@
+-- 평점 변경 이벤트 아웃박스 (StarEventOutbox). 평점 생성/수정/삭제와 같은 트랜잭션에서 기록되므로
+-- 이 테이블이 없으면 모든 평점 쓰기가 실패함. 애플리케이션 배포 전에 적용해야 함
+CREATE TABLE star_event_outbox (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    isbn           VARCHAR(13) NOT NULL,
+    member_id      BIGINT,
+    previous_score DOUBLE,
+    current_score  DOUBLE,
+    event_type     VARCHAR(16) NOT NULL,
+    occurred_at    DATETIME(6) NOT NULL,
+    other_scores   TEXT,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_star_event_outbox_occurred_at ON star_event_outbox (occurred_at);
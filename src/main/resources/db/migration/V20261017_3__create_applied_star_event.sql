@@ -0,0 +1,8 @@
+-- 쌍 통계에 이미 반영한 아웃박스 이벤트 ID (AppliedStarEvent). 증분 갱신의 중복 적용 방지
+CREATE TABLE applied_star_event (
+    event_id   BIGINT      NOT NULL,
+    applied_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+CREATE INDEX idx_applied_star_event_applied_at ON applied_star_event (applied_at);
@@ -0,0 +1,38 @@
+package capstone.bookitty.config;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 엔티티 매핑으로 스키마를 만든 H2(MySQL 모드) DataSource입니다.
+ * DataDBConfig와 같이 물리 명명 전략을 지정하지 않으므로, JDBC로 직접 쓰는 SQL의 컬럼명을 운영과 같은 기준으로 검증할 수 있습니다.
+ */
+public final class EntitySchemaDataSource {
+
+    private EntitySchemaDataSource() {
+    }
+
+    public static DataSource create(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+
+        LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
+        em.setDataSource(dataSource);
+        em.setPackagesToScan("capstone.bookitty");
+        em.setPersistenceUnitName(name);
+        em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create");
+        em.setJpaPropertyMap(properties);
+        em.afterPropertiesSet();
+        em.destroy();
+
+        return dataSource;
+    }
+}
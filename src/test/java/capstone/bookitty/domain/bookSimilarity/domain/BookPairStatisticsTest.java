@@ -0,0 +1,89 @@
+package capstone.bookitty.domain.bookSimilarity.domain;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineAccumulator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineSimilarityCalculator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.RatingVector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookPairStatisticsTest {
+
+    private static final String ISBN_A = "9780000000001";
+    private static final String ISBN_B = "9780000000002";
+
+    @Autowired
+    private CosineSimilarityCalculator calculator;
+
+    @Nested
+    @DisplayName("평점 변경 증분 반영 Test Cases")
+    class ApplyChange {
+
+        @Test
+        @DisplayName("평점 생성을 반영하면 전체 재계산과 같은 통계가 된다.")
+        void same_as_exact_when_created() {
+            BookPairStatistics statistics = exact(
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{4.0f, 3.0f, 5.0f}),
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{2.0f, 4.0f, 3.0f}));
+
+            // 회원 4가 B를 2.0으로 평가한 상태에서 A를 5.0으로 새로 평가
+            statistics.applyChange(ISBN_A, null, 5.0, 2.0);
+
+            BookPairStatistics expected = exact(
+                    new RatingVector(new long[]{1L, 2L, 3L, 4L}, new float[]{4.0f, 3.0f, 5.0f, 5.0f}),
+                    new RatingVector(new long[]{1L, 2L, 3L, 4L}, new float[]{2.0f, 4.0f, 3.0f, 2.0f}));
+            assertSameStatistics(statistics, expected);
+        }
+
+        @Test
+        @DisplayName("isbn2 쪽 평점 수정을 반영하면 전체 재계산과 같은 통계가 된다.")
+        void same_as_exact_when_updated() {
+            BookPairStatistics statistics = exact(
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{4.0f, 3.0f, 5.0f}),
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{2.0f, 4.0f, 3.0f}));
+
+            // 회원 2가 B 평점을 4.0 → 1.0으로 수정 (회원 2의 A 평점은 3.0)
+            statistics.applyChange(ISBN_B, 4.0, 1.0, 3.0);
+
+            BookPairStatistics expected = exact(
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{4.0f, 3.0f, 5.0f}),
+                    new RatingVector(new long[]{1L, 2L, 3L}, new float[]{2.0f, 1.0f, 3.0f}));
+            assertSameStatistics(statistics, expected);
+        }
+
+        @Test
+        @DisplayName("마지막 공통 평가자의 평점을 삭제하면 빈 통계가 된다.")
+        void empty_when_last_common_user_deleted() {
+            BookPairStatistics statistics = exact(
+                    new RatingVector(new long[]{1L}, new float[]{4.0f}),
+                    new RatingVector(new long[]{1L}, new float[]{2.0f}));
+
+            statistics.applyChange(ISBN_A, 4.0, null, 2.0);
+
+            assertThat(statistics.isEmpty()).isTrue();
+            assertThat(statistics.similarity()).isZero();
+            assertThat(statistics.isRetained()).isFalse();
+        }
+    }
+
+    private BookPairStatistics exact(RatingVector ratingsA, RatingVector ratingsB) {
+        CosineAccumulator accumulator = calculator.accumulate(ratingsA, ratingsB, new CosineAccumulator());
+        return BookPairStatistics.of(ISBN_A, ISBN_B, accumulator);
+    }
+
+    private void assertSameStatistics(BookPairStatistics actual, BookPairStatistics expected) {
+        assertThat(actual.getCommonUsers()).isEqualTo(expected.getCommonUsers());
+        assertThat(actual.getDotProduct()).isCloseTo(expected.getDotProduct(), within(1e-9));
+        assertThat(actual.getNormSquared1()).isCloseTo(expected.getNormSquared1(), within(1e-9));
+        assertThat(actual.getNormSquared2()).isCloseTo(expected.getNormSquared2(), within(1e-9));
+        assertThat(actual.similarity()).isCloseTo(expected.similarity(), within(1e-9));
+    }
+}
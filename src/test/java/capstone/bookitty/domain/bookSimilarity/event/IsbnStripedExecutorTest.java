@@ -0,0 +1,88 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsbnStripedExecutorTest {
+
+    private IsbnStripedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new IsbnStripedExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "laneCount", 4);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Nested
+    @DisplayName("ISBN별 lane 실행 Test Cases")
+    class Submit {
+
+        @Test
+        @DisplayName("같은 ISBN의 작업은 제출한 순서대로 실행된다.")
+        void runs_same_isbn_in_order() {
+            List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            for (int k = 0; k < 20; k++) {
+                int order = k;
+                futures.add(executor.submit("9780000000001", () -> executed.add(order)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            assertThat(executed).isSorted().hasSize(20);
+        }
+
+        @Test
+        @DisplayName("다른 lane의 ISBN은 앞선 작업이 막혀 있어도 실행된다.")
+        void runs_other_lane_while_one_is_blocked() throws Exception {
+            String blockedIsbn = "9780000000001";
+            String otherIsbn = isbnOnOtherLane(blockedIsbn);
+            CountDownLatch release = new CountDownLatch(1);
+
+            executor.submit(blockedIsbn, () -> awaitQuietly(release));
+            CompletableFuture<Void> other = executor.submit(otherIsbn, () -> { });
+
+            other.get(1, TimeUnit.SECONDS);
+            assertThat(other).isDone();
+            release.countDown();
+        }
+    }
+
+    private String isbnOnOtherLane(String isbn) {
+        for (long candidate = 9780000000002L; ; candidate++) {
+            String other = Long.toString(candidate);
+            if (IsbnStripedExecutor.laneOf(other, 4) != IsbnStripedExecutor.laneOf(isbn, 4)) {
+                return other;
+            }
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.application.BookSimilarityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SimilarityRecalculationCoalescerTest {
+
+    private BookSimilarityService bookSimilarityService;
+    private MeterRegistry meterRegistry;
+    private IsbnStripedExecutor isbnStripedExecutor;
+    private SimilarityRecalculationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        bookSimilarityService = mock(BookSimilarityService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        isbnStripedExecutor = new IsbnStripedExecutor(meterRegistry);
+        ReflectionTestUtils.setField(isbnStripedExecutor, "laneCount", 2);
+        ReflectionTestUtils.setField(isbnStripedExecutor, "queueCapacity", 16);
+        isbnStripedExecutor.init();
+        coalescer = new SimilarityRecalculationCoalescer(bookSimilarityService, isbnStripedExecutor, meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "windowMillis", 100L);
+        ReflectionTestUtils.setField(coalescer, "threads", 1);
+        coalescer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+        isbnStripedExecutor.shutdown();
+    }
+
+    @Nested
+    @DisplayName("ISBN별 재계산 합치기 Test Cases")
+    class Submit {
+
+        @Test
+        @DisplayName("window 안에 들어온 같은 ISBN의 요청은 한 번만 재계산된다.")
+        void coalesces_requests_for_same_isbn() {
+            for (int k = 0; k < 5; k++) {
+                coalescer.submit("9780000000001");
+            }
+
+            verify(bookSimilarityService, after(500).times(1)).recalculateSimilarityForBook("9780000000001");
+            assertThat(meterRegistry.counter("similarity.recalculation.requested").count()).isEqualTo(5);
+            assertThat(meterRegistry.counter("similarity.recalculation.coalesced").count()).isEqualTo(4);
+            assertThat(meterRegistry.counter("similarity.recalculation.executed").count()).isEqualTo(1);
+            assertThat(coalescer.pendingCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("미리 합친 요청이 예약된 재계산에 합쳐지면 실행되지 않은 요청 수만큼 집계된다.")
+        void counts_coalesced_batched_requests_once() {
+            coalescer.submit("9780000000001", 3, 1_000L);
+            coalescer.submit("9780000000001", 4, 2_000L);
+
+            verify(bookSimilarityService, after(500).times(1)).recalculateSimilarityForBook("9780000000001");
+            assertThat(meterRegistry.counter("similarity.recalculation.requested").count()).isEqualTo(7);
+            assertThat(meterRegistry.counter("similarity.recalculation.coalesced").count()).isEqualTo(6);
+            assertThat(meterRegistry.counter("similarity.recalculation.executed").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("window가 0이면 미리 합친 요청을 바로 한 번 재계산한다.")
+        void recalculates_batched_requests_immediately_without_window() {
+            coalescer.shutdown();
+            ReflectionTestUtils.setField(coalescer, "windowMillis", 0L);
+            coalescer.init();
+
+            coalescer.submit("9780000000001", 3, 1_000L);
+
+            verify(bookSimilarityService, times(1)).recalculateSimilarityForBook("9780000000001");
+            assertThat(meterRegistry.counter("similarity.recalculation.coalesced").count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("다른 ISBN의 요청은 각각 재계산된다.")
+        void recalculates_each_isbn() {
+            coalescer.submit("9780000000001");
+            coalescer.submit("9780000000002");
+
+            verify(bookSimilarityService, after(500).times(1)).recalculateSimilarityForBook("9780000000001");
+            verify(bookSimilarityService, times(1)).recalculateSimilarityForBook("9780000000002");
+        }
+
+        @Test
+        @DisplayName("window가 지나면 재계산은 해당 ISBN의 lane에서 실행된다.")
+        void recalculates_on_isbn_lane() {
+            String isbn = "9780000000001";
+            AtomicReference<String> threadName = new AtomicReference<>();
+            doAnswer(invocation -> {
+                threadName.set(Thread.currentThread().getName());
+                return null;
+            }).when(bookSimilarityService).recalculateSimilarityForBook(isbn);
+
+            coalescer.submit(isbn);
+
+            verify(bookSimilarityService, after(500).times(1)).recalculateSimilarityForBook(isbn);
+            assertThat(threadName.get()).isEqualTo("similarity-lane-" + IsbnStripedExecutor.laneOf(isbn, 2));
+        }
+
+        @Test
+        @DisplayName("window가 지나기 전에는 재계산하지 않는다.")
+        void waits_for_window() {
+            coalescer.submit("9780000000001");
+
+            verify(bookSimilarityService, never()).recalculateSimilarityForBook("9780000000001");
+            assertThat(coalescer.pendingCount()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventCodec;
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventMessage;
+import capstone.bookitty.domain.bookSimilarity.repository.AppliedStarEventJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository.OutboxEvent;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StarEventOutboxRelayTest {
+
+    private StarEventOutboxJdbcRepository outboxRepository;
+    private StarEventStreamStore starEventStreamStore;
+    private StarEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(StarEventOutboxJdbcRepository.class);
+        starEventStreamStore = mock(StarEventStreamStore.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        relay = new StarEventOutboxRelay(outboxRepository, mock(AppliedStarEventJdbcRepository.class),
+                starEventStreamStore, mock(DirtyIsbnRedisRepository.class), transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "maxBatches", 1);
+        relay.init();
+    }
+
+    @Nested
+    @DisplayName("아웃박스 릴레이 Test Cases")
+    class Relay {
+
+        @Test
+        @DisplayName("스트림에 기록한 행만 삭제한다.")
+        void deletes_rows_after_append() {
+            StarEventMessage message = new StarEventMessage("9780000000001", 1L, null, 4.0, EventType.CREATED, 1L);
+            when(outboxRepository.findRelayableForUpdate(any(), anyInt()))
+                    .thenReturn(List.of(new OutboxEvent(7L, message)));
+
+            relay.relay();
+
+            assertThat(appendedMessages()).containsExactly(message);
+            verify(outboxRepository).deleteAll(List.of(7L));
+        }
+
+        @Test
+        @DisplayName("인코딩할 수 없는 행은 기록하지 않고 다른 행과 함께 삭제한다.")
+        void deletes_unencodable_rows() {
+            StarEventMessage poison = new StarEventMessage("9780000000001", 1L, null, 4.3, EventType.CREATED, 1L);
+            StarEventMessage message = new StarEventMessage("9780000000002", 1L, null, 4.0, EventType.CREATED, 2L);
+            when(outboxRepository.findRelayableForUpdate(any(), anyInt()))
+                    .thenReturn(List.of(new OutboxEvent(7L, poison), new OutboxEvent(8L, message)));
+
+            relay.relay();
+
+            assertThat(appendedMessages()).containsExactly(message);
+            verify(outboxRepository).deleteAll(List.of(7L, 8L));
+        }
+
+        @Test
+        @DisplayName("Redis 기록에 실패하면 행을 남겨 다음 주기에 다시 전달한다.")
+        void keeps_rows_when_append_fails() {
+            StarEventMessage message = new StarEventMessage("9780000000001", 1L, null, 4.0, EventType.CREATED, 1L);
+            when(outboxRepository.findRelayableForUpdate(any(), anyInt()))
+                    .thenReturn(List.of(new OutboxEvent(7L, message)));
+            doThrow(new IllegalStateException("redis down")).when(starEventStreamStore).appendEncoded(anyList());
+
+            relay.relay();
+
+            verify(outboxRepository, never()).deleteAll(anyList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StarEventMessage> appendedMessages() {
+        ArgumentCaptor<List<byte[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(starEventStreamStore).appendEncoded(captor.capture());
+        return captor.getValue().stream().map(StarEventCodec::decode).toList();
+    }
+}
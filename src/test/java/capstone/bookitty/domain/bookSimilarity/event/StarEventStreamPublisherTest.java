@@ -0,0 +1,138 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import capstone.bookitty.domain.bookSimilarity.event.dto.StarEventCodec;
+import capstone.bookitty.domain.bookSimilarity.repository.DirtyIsbnRedisRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository;
+import capstone.bookitty.domain.star.event.StarRatingEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class StarEventStreamPublisherTest {
+
+    private StarEventStreamStore starEventStreamStore;
+    private MeterRegistry meterRegistry;
+    private StarEventStreamPublisher publisher;
+    private CountDownLatch release;
+    private final List<String> appendedIsbns = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        starEventStreamStore = mock(StarEventStreamStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+        // 첫 기록을 붙잡아 두어 큐가 비워지지 않게 함
+        doAnswer(invocation -> {
+            List<byte[]> batch = invocation.getArgument(0);
+            batch.forEach(payload -> appendedIsbns.add(StarEventCodec.decode(payload).isbn()));
+            release.await();
+            return null;
+        }).when(starEventStreamStore).appendEncoded(anyList());
+
+        publisher = new StarEventStreamPublisher(starEventStreamStore, mock(DirtyIsbnRedisRepository.class),
+                mock(StarEventOutboxJdbcRepository.class), meterRegistry);
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(publisher, "batchSize", 1);
+        ReflectionTestUtils.setField(publisher, "lingerMillis", 0L);
+        ReflectionTestUtils.setField(publisher, "maxBackoffMillis", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        publisher.stop();
+    }
+
+    @Nested
+    @DisplayName("큐가 가득 찼을 때 Test Cases")
+    class DropPolicy {
+
+        @Test
+        @DisplayName("drop-newest면 새 이벤트를 버리고 대기 중인 이벤트를 유지한다.")
+        void drops_newest_event() {
+            start("drop-newest");
+
+            publishAndFillQueue();
+            publisher.publish(StarRatingEvent.created("9780000000003", 1L, 4.0));
+
+            assertThat(droppedCount()).isEqualTo(1.0);
+            release.countDown();
+            verify(starEventStreamStore, timeout(1000).times(2)).appendEncoded(anyList());
+            assertThat(appendedIsbns).containsExactly("9780000000001", "9780000000002");
+        }
+
+        @Test
+        @DisplayName("drop-oldest면 가장 오래된 대기 이벤트를 버리고 새 이벤트를 넣는다.")
+        void drops_oldest_event() {
+            start("drop-oldest");
+
+            publishAndFillQueue();
+            publisher.publish(StarRatingEvent.created("9780000000003", 1L, 4.0));
+
+            assertThat(droppedCount()).isEqualTo(1.0);
+            release.countDown();
+            verify(starEventStreamStore, timeout(1000).times(2)).appendEncoded(anyList());
+            assertThat(appendedIsbns).containsExactly("9780000000001", "9780000000003");
+        }
+    }
+
+    @Test
+    @DisplayName("요청 스레드는 Redis 기록을 기다리지 않는다.")
+    void publish_does_not_wait_for_redis() {
+        start("drop-newest");
+
+        long startTime = System.nanoTime();
+        publishAndFillQueue();
+
+        assertThat(System.nanoTime() - startTime).isLessThan(500_000_000L);
+        verify(starEventStreamStore, times(1)).appendEncoded(anyList());
+    }
+
+    @Test
+    @DisplayName("인코딩할 수 없는 이벤트는 버리고 이후 이벤트를 계속 기록한다.")
+    void discards_unencodable_event() {
+        start("drop-newest");
+        release.countDown();
+
+        publisher.publish(StarRatingEvent.created("9780000000001", 1L, 4.3));
+        publisher.publish(StarRatingEvent.created("9780000000002", 1L, 4.0));
+
+        verify(starEventStreamStore, timeout(1000)).appendEncoded(anyList());
+        assertThat(appendedIsbns).containsExactly("9780000000002");
+        assertThat(meterRegistry.get("similarity.stream.publish.unencodable").counter().count()).isEqualTo(1.0);
+    }
+
+    private void start(String dropPolicy) {
+        ReflectionTestUtils.setField(publisher, "dropPolicy", dropPolicy);
+        publisher.start();
+    }
+
+    // 첫 이벤트는 기록 중에 멈춰 있고, 두 번째 이벤트가 큐를 채움
+    private void publishAndFillQueue() {
+        publisher.publish(StarRatingEvent.created("9780000000001", 1L, 4.0));
+        verify(starEventStreamStore, timeout(1000)).appendEncoded(anyList());
+        publisher.publish(StarRatingEvent.created("9780000000002", 1L, 4.0));
+    }
+
+    private double droppedCount() {
+        return meterRegistry.get("similarity.stream.publish.dropped").counter().count();
+    }
+}
@@ -0,0 +1,28 @@
+package capstone.bookitty.domain.bookSimilarity.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StarStreamTrimmerTest {
+
+    @Nested
+    @DisplayName("스트림 ID 비교 Test Cases")
+    class CompareIds {
+
+        @Test
+        @DisplayName("밀리초 부분을 문자열이 아닌 숫자로 비교한다.")
+        void compares_milliseconds_numerically() {
+            assertThat(StarStreamTrimmer.min("999-0", "1000-0")).isEqualTo("999-0");
+        }
+
+        @Test
+        @DisplayName("밀리초가 같으면 순번으로 비교한다.")
+        void compares_sequence_when_milliseconds_equal() {
+            assertThat(StarStreamTrimmer.min("1700000000000-10", "1700000000000-9")).isEqualTo("1700000000000-9");
+            assertThat(StarStreamTrimmer.compare("1700000000000-1", "1700000000000-1")).isZero();
+        }
+    }
+}
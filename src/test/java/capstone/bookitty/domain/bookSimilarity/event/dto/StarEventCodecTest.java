@@ -0,0 +1,113 @@
+package capstone.bookitty.domain.bookSimilarity.event.dto;
+
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StarEventCodecTest {
+
+    @Nested
+    @DisplayName("인코딩/디코딩 Test Cases")
+    class RoundTrip {
+
+        @Test
+        @DisplayName("수정 이벤트를 인코딩한 뒤 그대로 복원한다.")
+        void restores_updated_event() {
+            StarEventMessage message = new StarEventMessage("9788936434120", 12345L, 3.5, 4.0,
+                    EventType.UPDATED, 1_700_000_000_000L);
+
+            byte[] encoded = StarEventCodec.encode(message);
+
+            assertThat(StarEventCodec.decode(encoded)).isEqualTo(message);
+            assertThat(encoded.length).isLessThanOrEqualTo(24);
+        }
+
+        @Test
+        @DisplayName("아웃박스 이벤트 ID를 함께 복원한다.")
+        void restores_event_id() {
+            StarEventMessage message = new StarEventMessage("9788936434120", 12345L, null, 4.0,
+                    EventType.CREATED, 1_700_000_000_000L, 987_654_321L, null);
+
+            assertThat(StarEventCodec.decode(StarEventCodec.encode(message))).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("변경 시점의 다른 책 평점을 함께 복원한다.")
+        void restores_other_scores() {
+            Map<String, Double> otherScores = new LinkedHashMap<>();
+            otherScores.put("9791162540640", 4.5);
+            otherScores.put("0123456789", 0.5);
+            otherScores.put("ISBN-X", 3.0);
+            StarEventMessage message = new StarEventMessage("9788936434120", 12345L, 3.5, 4.0,
+                    EventType.UPDATED, 1_700_000_000_000L, 1L, otherScores);
+
+            assertThat(StarEventCodec.decode(StarEventCodec.encode(message))).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("이벤트 ID가 없는 버전 1 메시지도 읽는다.")
+        void reads_version_1_payload() {
+            StarEventMessage message = new StarEventMessage("9788936434120", 1L, null, 4.0,
+                    EventType.CREATED, 1_700_000_000_000L);
+            byte[] encoded = StarEventCodec.encode(message);
+            encoded[0] = 1;
+
+            assertThat(StarEventCodec.decode(encoded)).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("없는 평점과 회원은 null로 복원한다.")
+        void restores_missing_fields_as_null() {
+            StarEventMessage message = new StarEventMessage("9791162540640", null, null, 0.5,
+                    EventType.CREATED, 0L);
+
+            assertThat(StarEventCodec.decode(StarEventCodec.encode(message))).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("숫자로 압축할 수 없는 ISBN은 문자열로 보존한다.")
+        void keeps_unpackable_isbn_as_text() {
+            StarEventMessage message = new StarEventMessage("0123456789", 1L, 5.0, null,
+                    EventType.DELETED, 1L);
+
+            assertThat(StarEventCodec.decode(StarEventCodec.encode(message)).isbn()).isEqualTo("0123456789");
+        }
+    }
+
+    @Nested
+    @DisplayName("잘못된 입력 Test Cases")
+    class InvalidInput {
+
+        @Test
+        @DisplayName("0.5 단위가 아닌 평점은 인코딩하지 않는다.")
+        void rejects_non_half_star_score() {
+            StarEventMessage message = new StarEventMessage("9788936434120", 1L, null, 3.3,
+                    EventType.CREATED, 1L);
+
+            assertThatThrownBy(() -> StarEventCodec.encode(message))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("알 수 없는 버전과 잘린 데이터는 거부한다.")
+        void rejects_unknown_version_and_truncated_payload() {
+            byte[] encoded = StarEventCodec.encode(new StarEventMessage("9788936434120", 1L, null, 4.0,
+                    EventType.CREATED, 1_700_000_000_000L));
+            byte[] unknownVersion = encoded.clone();
+            unknownVersion[0] = 99;
+
+            assertThatThrownBy(() -> StarEventCodec.decode(unknownVersion))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> StarEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
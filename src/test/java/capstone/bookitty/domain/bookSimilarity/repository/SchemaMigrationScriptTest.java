@@ -0,0 +1,66 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import capstone.bookitty.config.EntitySchemaDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * db/migration의 CREATE TABLE 스크립트가 엔티티 매핑과 같은 컬럼/인덱스를 만드는지 확인합니다.
+ * (운영은 hbm2ddl=none이므로 스크립트가 빠지거나 어긋나면 배포 후 쓰기가 실패함)
+ */
+class SchemaMigrationScriptTest {
+
+    private static final List<String> SCRIPTS = List.of(
+            "db/migration/V20261017_1__create_book_pair_statistics.sql",
+            "db/migration/V20261017_2__create_star_event_outbox.sql",
+            "db/migration/V20261017_3__create_applied_star_event.sql");
+
+    @Nested
+    @DisplayName("마이그레이션 스크립트 Test Cases")
+    class Scripts {
+
+        @Test
+        @DisplayName("스크립트로 만든 테이블의 컬럼과 인덱스가 엔티티 스키마와 같다.")
+        void matches_entity_schema() {
+            JdbcTemplate scripted = new JdbcTemplate(scriptedDataSource());
+            JdbcTemplate generated = new JdbcTemplate(EntitySchemaDataSource.create("schema-migration-entities"));
+
+            for (String table : List.of(BookPairStatisticsJdbcRepository.TABLE, StarEventOutboxJdbcRepository.TABLE,
+                    AppliedStarEventJdbcRepository.TABLE)) {
+                assertThat(columns(scripted, table)).as(table).isEqualTo(columns(generated, table));
+                assertThat(indexes(scripted, table)).as(table).containsAll(indexes(generated, table));
+            }
+        }
+    }
+
+    //== helpers ==//
+
+    private DriverManagerDataSource scriptedDataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:schema-migration-scripts;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        SCRIPTS.forEach(script -> populator.addScript(new ClassPathResource(script)));
+        populator.execute(dataSource);
+        return dataSource;
+    }
+
+    // 컬럼명, NULL 허용 여부 (타입은 Hibernate 방언과 표기가 달라 비교하지 않음)
+    private List<String> columns(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT CONCAT(LOWER(COLUMN_NAME), ':', IS_NULLABLE)"
+                + " FROM INFORMATION_SCHEMA.COLUMNS WHERE LOWER(TABLE_NAME) = ? ORDER BY COLUMN_NAME", String.class, table);
+    }
+
+    private List<String> indexes(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES"
+                + " WHERE LOWER(TABLE_NAME) = ? AND INDEX_TYPE_NAME <> 'PRIMARY KEY'", String.class, table);
+    }
+}
@@ -0,0 +1,181 @@
+package capstone.bookitty.domain.bookSimilarity.repository;
+
+import capstone.bookitty.config.EntitySchemaDataSource;
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.repository.StarEventOutboxJdbcRepository.OutboxEvent;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.star.event.StarRatingEvent.EventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC 저장소의 SQL을 엔티티로 만든 스키마에 실행하여 컬럼명이 매핑과 일치하는지 확인합니다.
+ */
+class SimilarityJdbcSqlTest {
+
+    private static final String ISBN1 = "9780000000001";
+    private static final String ISBN2 = "9780000000002";
+    private static final String ISBN3 = "9780000000003";
+
+    private JdbcTemplate jdbcTemplate;
+    private BookSimilarityJdbcRepository bookSimilarityJdbcRepository;
+    private BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository;
+    private StarEventOutboxJdbcRepository starEventOutboxJdbcRepository;
+    private AppliedStarEventJdbcRepository appliedStarEventJdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(EntitySchemaDataSource.create("similarity-jdbc-sql"));
+        jdbcTemplate.update("DELETE FROM " + BookSimilarityJdbcRepository.TABLE);
+        jdbcTemplate.update("DELETE FROM " + BookPairStatisticsJdbcRepository.TABLE);
+        jdbcTemplate.update("DELETE FROM " + StarEventOutboxJdbcRepository.TABLE);
+        jdbcTemplate.update("DELETE FROM " + AppliedStarEventJdbcRepository.TABLE);
+        bookSimilarityJdbcRepository = new BookSimilarityJdbcRepository(jdbcTemplate);
+        bookPairStatisticsJdbcRepository = new BookPairStatisticsJdbcRepository(jdbcTemplate);
+        starEventOutboxJdbcRepository = new StarEventOutboxJdbcRepository(jdbcTemplate);
+        appliedStarEventJdbcRepository = new AppliedStarEventJdbcRepository(jdbcTemplate);
+    }
+
+    @Nested
+    @DisplayName("book_similarity SQL Test Cases")
+    class Similarity {
+
+        @Test
+        @DisplayName("같은 쌍을 다시 기록하면 유사도만 갱신된다.")
+        void upsert_updates_existing_pair() {
+            bookSimilarityJdbcRepository.upsertAll(List.of(result(ISBN1, ISBN2, 0.5)));
+            bookSimilarityJdbcRepository.upsertAll(List.of(result(ISBN1, ISBN2, 0.8), result(ISBN1, ISBN3, 0.3)));
+
+            Double similarity = jdbcTemplate.queryForObject(
+                    "SELECT similarity FROM book_similarity WHERE isbn1 = ? AND isbn2 = ?", Double.class, ISBN1, ISBN2);
+            assertThat(similarity).isEqualTo(0.8);
+            assertThat(count(BookSimilarityJdbcRepository.TABLE)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("쌍 삭제와 수정 시각 기준 삭제가 실행된다.")
+        void deletes_pairs() {
+            bookSimilarityJdbcRepository.upsertAll(List.of(result(ISBN1, ISBN2, 0.5), result(ISBN1, ISBN3, 0.3)));
+
+            assertThat(bookSimilarityJdbcRepository.deleteAll(List.of(result(ISBN1, ISBN2, 0.5)))).isEqualTo(1);
+            assertThat(bookSimilarityJdbcRepository.deleteTouchingModifiedBefore(List.of(ISBN3), future())).isEqualTo(1);
+            assertThat(count(BookSimilarityJdbcRepository.TABLE)).isZero();
+        }
+
+        @Test
+        @DisplayName("기록 시각을 cutoff로 쓰면 다시 기록한 쌍은 남고 이전 쌍만 삭제된다.")
+        void keeps_pairs_written_at_cutoff() {
+            Timestamp earlier = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0, 1));
+            bookSimilarityJdbcRepository.upsertAll(BookSimilarityJdbcRepository.TABLE,
+                    List.of(result(ISBN1, ISBN2, 0.5), result(ISBN1, ISBN3, 0.3)), earlier);
+            bookSimilarityJdbcRepository.upsertAll(BookSimilarityJdbcRepository.TABLE,
+                    List.of(result(ISBN1, ISBN2, 0.6)), cutoff);
+
+            assertThat(bookSimilarityJdbcRepository.deleteTouchingModifiedBefore(List.of(ISBN1), cutoff)).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT isbn2 FROM book_similarity", String.class)).isEqualTo(ISBN2);
+        }
+    }
+
+    @Nested
+    @DisplayName("book_pair_statistics SQL Test Cases")
+    class PairStatistics {
+
+        @Test
+        @DisplayName("기록한 통계를 잠금 조회로 다시 읽는다.")
+        void upsert_and_find_for_update() {
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(ISBN2, ISBN1, 3)));
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(ISBN1, ISBN2, 4)));
+
+            Map<String, BookPairStatistics> found = bookPairStatisticsJdbcRepository.findAllForUpdate(ISBN1, List.of(ISBN2, ISBN3));
+
+            assertThat(found).containsOnlyKeys(ISBN2);
+            assertThat(found.get(ISBN2).getCommonUsers()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("쌍 삭제와 수정 시각 기준 삭제가 실행된다.")
+        void deletes_statistics() {
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(ISBN1, ISBN2, 3), statistics(ISBN1, ISBN3, 3)));
+
+            assertThat(bookPairStatisticsJdbcRepository.deleteAll(List.of(statistics(ISBN1, ISBN2, 3)))).isEqualTo(1);
+            assertThat(bookPairStatisticsJdbcRepository.deleteTouchingModifiedBefore(List.of(ISBN1), future())).isEqualTo(1);
+            assertThat(count(BookPairStatisticsJdbcRepository.TABLE)).isZero();
+        }
+
+        @Test
+        @DisplayName("기록 시각을 cutoff로 쓰면 다시 기록한 통계는 남고 이전 통계만 삭제된다.")
+        void keeps_statistics_written_at_cutoff() {
+            Timestamp earlier = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0, 1));
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(ISBN1, ISBN2, 3), statistics(ISBN1, ISBN3, 3)), earlier);
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(ISBN1, ISBN3, 4)), cutoff);
+
+            assertThat(bookPairStatisticsJdbcRepository.deleteTouchingModifiedBefore(List.of(ISBN1), cutoff)).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT isbn2 FROM book_pair_statistics", String.class)).isEqualTo(ISBN3);
+        }
+    }
+
+    @Nested
+    @DisplayName("평점 이벤트 SQL Test Cases")
+    class StarEvents {
+
+        @Test
+        @DisplayName("아웃박스 행을 이벤트 ID가 담긴 메시지로 읽는다.")
+        void reads_outbox_rows() {
+            jdbcTemplate.update("INSERT INTO star_event_outbox"
+                            + " (isbn, member_id, previous_score, current_score, event_type, occurred_at, other_scores)"
+                            + " VALUES (?, ?, ?, ?, ?, ?, ?)", ISBN1, 1L, 3.5, 4.0, EventType.UPDATED.name(),
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), ISBN2 + "=4.5," + ISBN3 + "=2.0");
+
+            List<OutboxEvent> events = starEventOutboxJdbcRepository.findRelayableForUpdate(future(), 10);
+
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).message().previousScore()).isEqualTo(3.5);
+            assertThat(events.get(0).message().eventType()).isEqualTo(EventType.UPDATED);
+            assertThat(events.get(0).message().eventId()).isEqualTo(events.get(0).id());
+            assertThat(events.get(0).message().otherScores()).isEqualTo(Map.of(ISBN2, 4.5, ISBN3, 2.0));
+        }
+
+        @Test
+        @DisplayName("같은 이벤트는 한 번만 반영된 것으로 기록된다.")
+        void marks_event_once() {
+            assertThat(appliedStarEventJdbcRepository.markApplied(7L)).isTrue();
+            assertThat(appliedStarEventJdbcRepository.markApplied(7L)).isFalse();
+            assertThat(appliedStarEventJdbcRepository.deleteAppliedBefore(future())).isEqualTo(1);
+        }
+    }
+
+    private BookSimilarityResult result(String isbn1, String isbn2, double similarity) {
+        return BookSimilarityResult.of(isbn1, isbn2, similarity, 3);
+    }
+
+    private BookPairStatistics statistics(String isbn1, String isbn2, int commonUsers) {
+        return BookPairStatistics.builder()
+                .isbn1(isbn1)
+                .isbn2(isbn2)
+                .dotProduct(10.0)
+                .normSquared1(12.0)
+                .normSquared2(14.0)
+                .commonUsers(commonUsers)
+                .build();
+    }
+
+    private Timestamp future() {
+        return Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
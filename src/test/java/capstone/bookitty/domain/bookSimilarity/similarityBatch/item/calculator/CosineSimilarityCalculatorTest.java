@@ -0,0 +1,100 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CosineSimilarityCalculatorTest {
+
+    @Autowired
+    private CosineSimilarityCalculator calculator;
+
+    @Nested
+    @DisplayName("정렬 벡터 병합 조인 Test Cases")
+    class Accumulate {
+
+        @Test
+        @DisplayName("공통 평가자만으로 내적과 크기를 계산한다.")
+        void success_when_vectors_partially_overlap() {
+            RatingVector vector1 = new RatingVector(new long[]{1L, 2L, 3L, 5L}, new float[]{4.0f, 3.0f, 5.0f, 1.0f});
+            RatingVector vector2 = new RatingVector(new long[]{2L, 3L, 4L, 5L}, new float[]{2.0f, 4.0f, 5.0f, 3.0f});
+
+            CosineAccumulator result = calculator.accumulate(vector1, vector2, new CosineAccumulator());
+
+            // 공통 평가자: 2, 3, 5
+            double expected = (3 * 2 + 5 * 4 + 1 * 3)
+                    / (Math.sqrt(3 * 3 + 5 * 5 + 1 * 1) * Math.sqrt(2 * 2 + 4 * 4 + 3 * 3));
+            assertThat(result.getCommonUsers()).isEqualTo(3);
+            assertThat(result.similarity()).isCloseTo(expected, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("공통 평가자가 없으면 유사도는 0이다.")
+        void zero_when_no_common_users() {
+            RatingVector vector1 = new RatingVector(new long[]{1L, 3L}, new float[]{4.0f, 3.0f});
+            RatingVector vector2 = new RatingVector(new long[]{2L, 4L}, new float[]{2.0f, 4.0f});
+
+            CosineAccumulator result = calculator.accumulate(vector1, vector2, new CosineAccumulator());
+
+            assertThat(result.getCommonUsers()).isZero();
+            assertThat(result.similarity()).isZero();
+        }
+
+        @Test
+        @DisplayName("재사용한 accumulator는 이전 결과가 초기화된다.")
+        void reset_when_accumulator_reused() {
+            CosineAccumulator accumulator = new CosineAccumulator();
+            RatingVector vector = new RatingVector(new long[]{1L, 2L, 3L}, new float[]{4.0f, 3.0f, 5.0f});
+            calculator.accumulate(vector, vector, accumulator);
+
+            calculator.accumulate(vector, RatingVector.EMPTY, accumulator);
+
+            assertThat(accumulator.getCommonUsers()).isZero();
+            assertThat(accumulator.getDotProduct()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("맵 어댑터 Test Cases")
+    class CalculateMap {
+
+        @Test
+        @DisplayName("맵 기반 계산은 정렬 벡터 계산과 같은 결과를 낸다.")
+        void success_when_same_as_vector_api() {
+            Map<Long, Double> ratings1 = Map.of(1L, 4.0, 2L, 3.0, 3L, 5.0);
+            Map<Long, Double> ratings2 = Map.of(1L, 2.0, 2L, 4.0, 3L, 3.5);
+
+            double fromMap = calculator.calculate(ratings1, ratings2, Set.of(1L, 2L, 3L));
+            double fromVector = calculator.accumulate(
+                    RatingVector.from(ratings1), RatingVector.from(ratings2), new CosineAccumulator()).similarity();
+
+            assertThat(fromMap).isCloseTo(fromVector, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("정렬되지 않은 맵과 문자열 키도 회원 ID 순 벡터로 변환된다.")
+        void success_when_unsorted_string_keys() {
+            Map<String, Double> ratings = new LinkedHashMap<>();
+            ratings.put("30", 1.5);
+            ratings.put("4", 4.0);
+            ratings.put("12", 2.5);
+
+            RatingVector vector = RatingVector.from(ratings);
+
+            assertThat(vector.memberIds()).containsExactly(4L, 12L, 30L);
+            assertThat(vector.scores()).containsExactly(4.0f, 2.5f, 1.5f);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.item.topk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKNeighborHeapTest {
+
+    @Nested
+    @DisplayName("상위 K개 이웃 선택 Test Cases")
+    class Offer {
+
+        @Test
+        @DisplayName("용량보다 많은 후보 중 유사도 상위 K개만 내림차순으로 남는다.")
+        void keeps_top_k_in_descending_order() {
+            TopKNeighborHeap heap = new TopKNeighborHeap(3);
+            double[] similarities = {0.2, 0.9, 0.5, 0.1, 0.7, 0.3};
+            for (int book = 0; book < similarities.length; book++) {
+                heap.offer(book, similarities[book]);
+            }
+
+            assertThat(heap.drainDescending()).containsExactly(1, 4, 2);
+            assertThat(heap.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("후보가 용량보다 적으면 모두 남는다.")
+        void keeps_all_when_fewer_than_capacity() {
+            TopKNeighborHeap heap = new TopKNeighborHeap(5);
+            heap.offer(7, 0.4);
+            heap.offer(3, 0.8);
+
+            assertThat(heap.drainDescending()).containsExactly(3, 7);
+        }
+
+        @Test
+        @DisplayName("용량이 0 이하이면 예외가 발생한다.")
+        void fail_when_capacity_not_positive() {
+            assertThatThrownBy(() -> new TopKNeighborHeap(0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Top-K capacity must be positive");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 다른 패키지의 테스트에서 작은 평점 행렬을 만들기 위한 도우미입니다.
+ */
+public final class RatingMatrixFixtures {
+
+    private RatingMatrixFixtures() {
+    }
+
+    /**
+     * @param ratings ratings[책][회원] 평점, 0이면 평가하지 않음
+     */
+    public static RatingMatrix of(String[] isbns, long[] memberIds, double[][] ratings) {
+        int[] offsets = new int[isbns.length + 1];
+        List<Integer> members = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        for (int book = 0; book < isbns.length; book++) {
+            for (int member = 0; member < memberIds.length; member++) {
+                if (ratings[book][member] != 0.0) {
+                    members.add(member);
+                    scores.add((float) ratings[book][member]);
+                }
+            }
+            offsets[book + 1] = members.size();
+        }
+
+        int[] bookMembers = new int[members.size()];
+        float[] bookScores = new float[scores.size()];
+        for (int k = 0; k < bookMembers.length; k++) {
+            bookMembers[k] = members.get(k);
+            bookScores[k] = scores.get(k);
+        }
+        return new RatingMatrix(isbns, memberIds, offsets, bookMembers, bookScores);
+    }
+}
@@ -0,0 +1,174 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import capstone.bookitty.config.EntitySchemaDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔티티로 만든 star 스키마에 평점을 기록하고, 전체/증분 로딩 결과를 비교합니다.
+ */
+class RatingMatrixLoaderTest {
+
+    private static final String ISBN1 = "9780000000001";
+    private static final String ISBN2 = "9780000000002";
+
+    private static final LocalDateTime SNAPSHOT_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime BEFORE_SNAPSHOT = SNAPSHOT_TIME.minusDays(1);
+    private static final LocalDateTime AFTER_SNAPSHOT = SNAPSHOT_TIME.plusHours(1);
+
+    private JdbcTemplate jdbcTemplate;
+    private RatingMatrixLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(EntitySchemaDataSource.create("rating-matrix-loader"));
+        jdbcTemplate.update("DELETE FROM star");
+        loader = new RatingMatrixLoader(jdbcTemplate, jdbcTemplate);
+    }
+
+    @Nested
+    @DisplayName("증분 로딩 Test Cases")
+    class LoadIncremental {
+
+        @Test
+        @DisplayName("스냅샷 이후 수정된 평점이 반영된다.")
+        void applies_updated_rating() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            insert(ISBN1, 2L, 3.0, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            jdbcTemplate.update("UPDATE star SET score = ?, modifiedDate = ? WHERE isbn = ? AND member_id = ?",
+                    1.5, Timestamp.valueOf(AFTER_SNAPSHOT), ISBN1, 2L);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(ratings(matrix, ISBN1)).isEqualTo(Map.of(1L, 4.0f, 2L, 1.5f));
+            assertSameAsFullLoad(matrix);
+        }
+
+        @Test
+        @DisplayName("스냅샷 이후 삭제된 평점은 제외된다.")
+        void removes_deleted_rating() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            insert(ISBN1, 2L, 3.0, BEFORE_SNAPSHOT);
+            insert(ISBN2, 1L, 2.0, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            delete(ISBN1, 2L);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(ratings(matrix, ISBN1)).isEqualTo(Map.of(1L, 4.0f));
+            assertThat(ratings(matrix, ISBN2)).isEqualTo(Map.of(1L, 2.0f));
+            assertSameAsFullLoad(matrix);
+        }
+
+        @Test
+        @DisplayName("삭제 후 같은 회원이 다시 평가하면 새 평점이 반영된다.")
+        void applies_rerating_after_delete() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            insert(ISBN1, 2L, 3.0, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            delete(ISBN1, 2L);
+            insert(ISBN1, 2L, 0.5, AFTER_SNAPSHOT);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(ratings(matrix, ISBN1)).isEqualTo(Map.of(1L, 4.0f, 2L, 0.5f));
+            assertSameAsFullLoad(matrix);
+        }
+
+        @Test
+        @DisplayName("삭제와 다른 회원의 새 평점으로 평점 수가 같아도 삭제가 반영된다.")
+        void removes_deleted_rating_when_count_unchanged() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            insert(ISBN1, 2L, 3.0, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            delete(ISBN1, 1L);
+            insert(ISBN1, 3L, 5.0, AFTER_SNAPSHOT);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(ratings(matrix, ISBN1)).isEqualTo(Map.of(2L, 3.0f, 3L, 5.0f));
+            assertSameAsFullLoad(matrix);
+        }
+
+        @Test
+        @DisplayName("평점이 모두 삭제된 책은 행렬에서 사라진다.")
+        void drops_book_without_ratings() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            insert(ISBN2, 1L, 2.0, BEFORE_SNAPSHOT);
+            insert(ISBN2, 2L, 3.5, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            delete(ISBN2, 1L);
+            delete(ISBN2, 2L);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(matrix.indexOf(ISBN2)).isNegative();
+            assertThat(matrix.bookCount()).isEqualTo(1);
+            assertThat(ratings(matrix, ISBN1)).isEqualTo(Map.of(1L, 4.0f));
+            assertSameAsFullLoad(matrix);
+        }
+
+        @Test
+        @DisplayName("스냅샷 이후 처음 평가된 책이 추가된다.")
+        void adds_new_book() {
+            insert(ISBN1, 1L, 4.0, BEFORE_SNAPSHOT);
+            RatingMatrix base = loader.load();
+
+            insert(ISBN2, 1L, 2.5, AFTER_SNAPSHOT);
+
+            RatingMatrix matrix = loader.loadIncremental(base, Timestamp.valueOf(SNAPSHOT_TIME));
+
+            assertThat(ratings(matrix, ISBN2)).isEqualTo(Map.of(1L, 2.5f));
+            assertSameAsFullLoad(matrix);
+        }
+    }
+
+    //== helpers ==//
+
+    private void insert(String isbn, long memberId, double score, LocalDateTime modifiedAt) {
+        Timestamp timestamp = Timestamp.valueOf(modifiedAt);
+        jdbcTemplate.update("INSERT INTO star (member_id, isbn, score, createDate, modifiedDate) VALUES (?, ?, ?, ?, ?)",
+                memberId, isbn, score, timestamp, timestamp);
+    }
+
+    private void delete(String isbn, long memberId) {
+        jdbcTemplate.update("DELETE FROM star WHERE isbn = ? AND member_id = ?", isbn, memberId);
+    }
+
+    private Map<Long, Float> ratings(RatingMatrix matrix, String isbn) {
+        Map<Long, Float> ratings = new LinkedHashMap<>();
+        int book = matrix.indexOf(isbn);
+        if (book < 0) {
+            return ratings;
+        }
+        for (int k = matrix.bookStart(book); k < matrix.bookEnd(book); k++) {
+            ratings.put(matrix.memberId(matrix.bookMembers()[k]), matrix.bookScores()[k]);
+        }
+        return ratings;
+    }
+
+    // 증분 결과는 테이블 전체를 다시 읽은 결과와 같아야 함
+    private void assertSameAsFullLoad(RatingMatrix matrix) {
+        RatingMatrix full = loader.load();
+        assertThat(matrix.bookCount()).isEqualTo(full.bookCount());
+        for (int book = 0; book < full.bookCount(); book++) {
+            assertThat(ratings(matrix, full.isbn(book))).isEqualTo(ratings(full, full.isbn(book)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RatingMatrixSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("스냅샷 기록/매핑 Test Cases")
+    class WriteAndRead {
+
+        @Test
+        @DisplayName("기록한 스냅샷을 읽으면 같은 행렬과 워터마크가 복원된다.")
+        void same_matrix_when_round_trip() throws IOException {
+            // 책 0: 회원 0(4.5), 회원 2(3.0) / 책 1: 회원 1(0.5), 회원 2(5.0)
+            RatingMatrix matrix = new RatingMatrix(
+                    new String[]{"9780000000001", "9780000000002"},
+                    new long[]{10L, 20L, 30L},
+                    new int[]{0, 2, 4},
+                    new int[]{0, 2, 1, 2},
+                    new float[]{4.5f, 3.0f, 0.5f, 5.0f});
+            Path path = tempDir.resolve("ratings.snapshot");
+
+            RatingMatrixSnapshot.write(matrix, 1_700_000_000_000L, path);
+            RatingMatrixSnapshot.Loaded loaded = RatingMatrixSnapshot.read(path);
+
+            RatingMatrix restored = loaded.matrix();
+            assertThat(loaded.watermark()).isEqualTo(1_700_000_000_000L);
+            assertThat(restored.bookCount()).isEqualTo(2);
+            assertThat(restored.isbn(1)).isEqualTo("9780000000002");
+            assertThat(restored.memberId(2)).isEqualTo(30L);
+            assertThat(restored.bookMembers()).containsExactly(0, 2, 1, 2);
+            assertThat(restored.bookScores()).containsExactly(4.5f, 3.0f, 0.5f, 5.0f);
+            // 회원 기준(CSC) 방향도 다시 만들어짐
+            assertThat(restored.memberEnd(2) - restored.memberStart(2)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("형식이 다른 파일은 읽지 않는다.")
+        void fail_when_not_snapshot() throws IOException {
+            Path path = tempDir.resolve("broken.snapshot");
+            Files.write(path, new byte[64]);
+
+            assertThatThrownBy(() -> RatingMatrixSnapshot.read(path))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Unsupported rating snapshot format");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.product;
+
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.calculator.CosineSimilarityCalculator;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrix;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixFixtures;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixSnapshotStore;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.product.SparseProductSimilarityEngine.RowSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 행렬 곱 경로(ProductRow)의 결과가 청크 경로(두 책의 병합 조인)와 같은지 작은 행렬로 비교합니다.
+ */
+class SparseProductSimilarityEngineTest {
+
+    private static final String[] ISBNS = {"9780000000001", "9780000000002", "9780000000003", "9780000000004"};
+    private static final long[] MEMBER_IDS = {10L, 20L, 30L, 40L, 50L};
+
+    // ratings[책][회원], 0은 평가하지 않음 (책 4는 다른 책과 겹치는 회원이 하나뿐)
+    private static final double[][] RATINGS = {
+            {4.5, 3.0, 0.0, 5.0, 1.0},
+            {4.0, 0.0, 2.5, 4.5, 0.0},
+            {0.5, 3.5, 2.0, 0.0, 1.5},
+            {0.0, 0.0, 0.0, 0.0, 4.0},
+    };
+
+    private RatingMatrix matrix;
+    private RatingMatrixEngine chunkEngine;
+    private SparseProductSimilarityEngine productEngine;
+
+    @BeforeEach
+    void setUp() {
+        matrix = RatingMatrixFixtures.of(ISBNS, MEMBER_IDS, RATINGS);
+
+        RatingMatrixSnapshotStore snapshotStore = mock(RatingMatrixSnapshotStore.class);
+        when(snapshotStore.load()).thenReturn(matrix);
+        chunkEngine = new RatingMatrixEngine(snapshotStore, new CosineSimilarityCalculator());
+
+        productEngine = new SparseProductSimilarityEngine();
+        ReflectionTestUtils.setField(productEngine, "blockSize", 1);
+        ReflectionTestUtils.setField(productEngine, "parallelism", 2);
+    }
+
+    @Nested
+    @DisplayName("ProductRow Test Cases")
+    class Row {
+
+        @Test
+        @DisplayName("한 행의 공통 평가자 수, 내적, 제곱합이 병합 조인 결과와 같다.")
+        void same_statistics_as_merge_join() {
+            ProductRow row = new ProductRow(matrix);
+
+            for (int book = 0; book < matrix.bookCount(); book++) {
+                row.compute(book, true);
+                for (int k = 0; k < row.size(); k++) {
+                    assertSameAsChunkPath(row.toResult(k));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("상삼각 모드는 뒤쪽 이웃만, 전체 모드는 앞뒤 이웃을 모두 계산한다.")
+        void upper_triangle_and_all_neighbors() {
+            ProductRow row = new ProductRow(matrix);
+
+            row.compute(1, false);
+            assertThat(neighbors(row)).containsExactlyInAnyOrder(2);
+
+            row.compute(1, true);
+            assertThat(neighbors(row)).containsExactlyInAnyOrder(0, 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("행렬 곱 엔진 Test Cases")
+    class Engine {
+
+        @Test
+        @DisplayName("상삼각 모드는 겹치는 쌍마다 한 번씩 청크 경로와 같은 결과를 낸다.")
+        void upper_triangle_emits_each_pair_once() {
+            List<BookSimilarityResult> results = Collections.synchronizedList(new ArrayList<>());
+
+            long pairs = productEngine.compute(matrix, 0, matrix.bookCount(), false, () -> collecting(results));
+
+            // 겹치는 쌍: (1,2), (1,3), (1,4), (2,3), (3,4)
+            assertThat(pairs).isEqualTo(5);
+            assertThat(results).hasSize(5);
+            assertThat(results).extracting(result -> result.isbn1() + "-" + result.isbn2()).doesNotHaveDuplicates();
+            results.forEach(SparseProductSimilarityEngineTest.this::assertSameAsChunkPath);
+        }
+
+        @Test
+        @DisplayName("전체 모드는 쌍마다 양쪽 책에서 한 번씩 계산한다.")
+        void all_neighbors_emits_each_pair_from_both_books() {
+            List<BookSimilarityResult> results = Collections.synchronizedList(new ArrayList<>());
+
+            long pairs = productEngine.compute(matrix, 0, matrix.bookCount(), true, () -> collecting(results));
+
+            assertThat(pairs).isEqualTo(10);
+            results.forEach(SparseProductSimilarityEngineTest.this::assertSameAsChunkPath);
+        }
+
+        @Test
+        @DisplayName("책 범위를 나누어 계산해도 합치면 전체와 같다.")
+        void slices_cover_whole_range() {
+            List<BookSimilarityResult> results = Collections.synchronizedList(new ArrayList<>());
+
+            long pairs = productEngine.compute(matrix, 0, 2, false, () -> collecting(results))
+                    + productEngine.compute(matrix, 2, matrix.bookCount(), false, () -> collecting(results));
+
+            assertThat(pairs).isEqualTo(5);
+            assertThat(results).hasSize(5);
+        }
+    }
+
+    //== helpers ==//
+
+    private void assertSameAsChunkPath(BookSimilarityResult product) {
+        BookSimilarityResult chunk = chunkEngine.similarity(product.isbn1(), product.isbn2());
+        assertThat(product.commonUsers()).isEqualTo(chunk.commonUsers());
+        assertThat(product.dotProduct()).isCloseTo(chunk.dotProduct(), within(1e-9));
+        assertThat(product.normSquared1()).isCloseTo(chunk.normSquared1(), within(1e-9));
+        assertThat(product.normSquared2()).isCloseTo(chunk.normSquared2(), within(1e-9));
+        assertThat(product.similarity()).isCloseTo(chunk.similarity(), within(1e-9));
+    }
+
+    private List<Integer> neighbors(ProductRow row) {
+        List<Integer> neighbors = new ArrayList<>();
+        for (int k = 0; k < row.size(); k++) {
+            neighbors.add(row.neighbor(k));
+        }
+        return neighbors;
+    }
+
+    private RowSink collecting(List<BookSimilarityResult> results) {
+        return new RowSink() {
+            @Override
+            public void accept(ProductRow row) {
+                for (int k = 0; k < row.size(); k++) {
+                    results.add(row.toResult(k));
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.scheduler;
+
+import capstone.bookitty.domain.bookSimilarity.repository.ProcessingPauseRedisRepository;
+import capstone.bookitty.domain.star.config.StreamConsumerIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookSimilaritySchedulerTest {
+
+    private static final String JOB_NAME = "bookSimilarityCalculationJob";
+    private static final String INSTANCE_ID = "node-a";
+    private static final String OTHER_INSTANCE_ID = "node-b";
+
+    private JobRepository jobRepository;
+    private ProcessingPauseRedisRepository processingPauseRedisRepository;
+    private BookSimilarityScheduler scheduler;
+    private JobInstance jobInstance;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        processingPauseRedisRepository = mock(ProcessingPauseRedisRepository.class);
+        Job job = mock(Job.class);
+        when(job.getName()).thenReturn(JOB_NAME);
+        StreamConsumerIdentity streamConsumerIdentity = mock(StreamConsumerIdentity.class);
+        when(streamConsumerIdentity.instanceId()).thenReturn(INSTANCE_ID);
+
+        scheduler = new BookSimilarityScheduler(mock(JobLauncher.class), job, jobRepository,
+                mock(ApplicationEventPublisher.class), processingPauseRedisRepository, streamConsumerIdentity);
+        ReflectionTestUtils.setField(scheduler, "abandonedStaleMinutes", 60L);
+
+        jobInstance = new JobInstance(1L, JOB_NAME);
+        when(jobRepository.findJobInstancesByName(eq(JOB_NAME), anyInt(), anyInt())).thenReturn(List.of(jobInstance));
+    }
+
+    @Nested
+    @DisplayName("버려진 실행 정리 Test Cases")
+    class MarkAbandoned {
+
+        @Test
+        @DisplayName("이 인스턴스가 실행하던 실행은 갱신 시각과 무관하게 FAILED로 바뀐다.")
+        void fails_own_execution() {
+            JobExecution execution = startedExecution(INSTANCE_ID, LocalDateTime.now());
+
+            scheduler.markAbandonedExecutionsFailed();
+
+            assertThat(execution.getStatus()).isEqualTo(BatchStatus.FAILED);
+            verify(jobRepository).update(execution);
+        }
+
+        @Test
+        @DisplayName("배치 중단 플래그를 가진 다른 인스턴스의 실행은 건드리지 않는다.")
+        void skips_execution_of_live_owner() {
+            when(processingPauseRedisRepository.owner()).thenReturn(OTHER_INSTANCE_ID);
+            JobExecution execution = startedExecution(OTHER_INSTANCE_ID, LocalDateTime.now().minusHours(3));
+
+            scheduler.markAbandonedExecutionsFailed();
+
+            assertThat(execution.getStatus()).isEqualTo(BatchStatus.STARTED);
+            verify(jobRepository, never()).update(any(JobExecution.class));
+        }
+
+        @Test
+        @DisplayName("다른 인스턴스의 실행은 최근에 갱신되었으면 건드리지 않는다.")
+        void skips_recently_updated_execution() {
+            JobExecution execution = startedExecution(OTHER_INSTANCE_ID, LocalDateTime.now().minusMinutes(5));
+
+            scheduler.markAbandonedExecutionsFailed();
+
+            assertThat(execution.getStatus()).isEqualTo(BatchStatus.STARTED);
+            verify(jobRepository, never()).update(any(JobExecution.class));
+        }
+
+        @Test
+        @DisplayName("다른 인스턴스의 실행이 오래 갱신되지 않았으면 FAILED로 바뀐다.")
+        void fails_stale_execution_of_other_instance() {
+            JobExecution execution = startedExecution(OTHER_INSTANCE_ID, LocalDateTime.now().minusHours(2));
+
+            scheduler.markAbandonedExecutionsFailed();
+
+            assertThat(execution.getStatus()).isEqualTo(BatchStatus.FAILED);
+            verify(jobRepository).update(execution);
+        }
+    }
+
+    //== helpers ==//
+
+    private JobExecution startedExecution(String owner, LocalDateTime lastUpdated) {
+        JobExecution execution = new JobExecution(jobInstance, 1L, new JobParametersBuilder()
+                .addLong("timestamp", 1L)
+                .addString(BookSimilarityScheduler.OWNER_PARAMETER, owner, false)
+                .toJobParameters());
+        execution.setStatus(BatchStatus.STARTED);
+        execution.setCreateTime(lastUpdated.minusMinutes(1));
+        execution.setLastUpdated(lastUpdated);
+        when(jobRepository.findJobExecutions(jobInstance)).thenReturn(List.of(execution));
+        return execution;
+    }
+}
@@ -0,0 +1,172 @@
+package capstone.bookitty.domain.bookSimilarity.similarityBatch.tasklet;
+
+import capstone.bookitty.config.EntitySchemaDataSource;
+import capstone.bookitty.domain.bookSimilarity.domain.BookPairStatistics;
+import capstone.bookitty.domain.bookSimilarity.repository.BookPairStatisticsJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityJdbcRepository;
+import capstone.bookitty.domain.bookSimilarity.repository.BookSimilarityTableManager;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.config.SimilarityJobParameters;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.candidate.CandidateGeneratorFactory;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.item.dto.BookSimilarityResult;
+import capstone.bookitty.domain.bookSimilarity.similarityBatch.matrix.RatingMatrixEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 저장된 쌍을 키 순서로 페이지 단위로 나누어 정리하는지 H2 스키마에서 확인합니다.
+ */
+class StaleSimilarityCleanupTaskletTest {
+
+    private static final String ISBN1 = "9780000000001";
+    private static final String ISBN2 = "9780000000002";
+    private static final String ISBN3 = "9780000000003";
+    private static final String ISBN4 = "9780000000004";
+
+    // 평점 행렬 기준 공통 평가자 수 (ISBN1-ISBN2, ISBN2-ISBN3은 기준 미달)
+    private static final Map<String, Integer> COMMON_USERS = Map.of(
+            ISBN1 + ISBN2, 1,
+            ISBN1 + ISBN3, 5,
+            ISBN2 + ISBN3, 2,
+            ISBN3 + ISBN4, 4);
+
+    private JdbcTemplate jdbcTemplate;
+    private StaleSimilarityCleanupTasklet tasklet;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(EntitySchemaDataSource.create("stale-similarity-cleanup"));
+        jdbcTemplate.update("DELETE FROM " + BookSimilarityJdbcRepository.TABLE);
+        jdbcTemplate.update("DELETE FROM " + BookPairStatisticsJdbcRepository.TABLE);
+
+        RatingMatrixEngine ratingMatrixEngine = mock(RatingMatrixEngine.class);
+        when(ratingMatrixEngine.similarity(anyString(), anyString())).thenAnswer(invocation -> {
+            String isbn1 = invocation.getArgument(0);
+            String isbn2 = invocation.getArgument(1);
+            return BookSimilarityResult.of(isbn1, isbn2, 0.5, COMMON_USERS.getOrDefault(isbn1 + isbn2, 0));
+        });
+        BookSimilarityTableManager bookSimilarityTableManager = mock(BookSimilarityTableManager.class);
+        when(bookSimilarityTableManager.isShadowEnabled()).thenReturn(false);
+
+        tasklet = new StaleSimilarityCleanupTasklet(jdbcTemplate, ratingMatrixEngine, bookSimilarityTableManager);
+        ReflectionTestUtils.setField(tasklet, "pageSize", 3);
+
+        List<String[]> pairs = List.of(
+                new String[]{ISBN1, ISBN2}, new String[]{ISBN1, ISBN3},
+                new String[]{ISBN2, ISBN3}, new String[]{ISBN3, ISBN4});
+        BookSimilarityJdbcRepository bookSimilarityJdbcRepository = new BookSimilarityJdbcRepository(jdbcTemplate);
+        BookPairStatisticsJdbcRepository bookPairStatisticsJdbcRepository = new BookPairStatisticsJdbcRepository(jdbcTemplate);
+        for (String[] pair : pairs) {
+            bookSimilarityJdbcRepository.upsertAll(List.of(BookSimilarityResult.of(pair[0], pair[1], 0.5, 3)));
+            bookPairStatisticsJdbcRepository.upsertAll(List.of(statistics(pair[0], pair[1])));
+        }
+    }
+
+    @Nested
+    @DisplayName("페이지 단위 정리 Test Cases")
+    class Paging {
+
+        @Test
+        @DisplayName("한 번의 실행은 한 페이지만 처리하고 이어서 실행할 수 있다.")
+        void processes_one_page_per_execute() {
+            StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+            RepeatStatus status = execute(stepExecution);
+
+            // 첫 페이지 (ISBN1-ISBN2, ISBN1-ISBN3, ISBN2-ISBN3)만 확인하고 커서를 저장
+            assertThat(status).isEqualTo(RepeatStatus.CONTINUABLE);
+            assertThat(pairs(BookSimilarityJdbcRepository.TABLE)).containsExactly(ISBN1 + ISBN3, ISBN3 + ISBN4);
+            assertThat(pairs(BookPairStatisticsJdbcRepository.TABLE)).hasSize(4);
+            assertThat(stepExecution.getExecutionContext().getString(StaleSimilarityCleanupTasklet.LAST_ISBN2_KEY))
+                    .isEqualTo(ISBN3);
+        }
+
+        @Test
+        @DisplayName("모든 페이지를 처리하면 두 테이블에서 기준 미달 쌍만 삭제된다.")
+        void deletes_stale_pairs_from_both_tables() {
+            StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+            int executions = 1;
+            while (execute(stepExecution) == RepeatStatus.CONTINUABLE) {
+                executions++;
+            }
+
+            // 테이블마다 가득 찬 페이지 1개 + 나머지 페이지 1개
+            assertThat(executions).isEqualTo(4);
+            assertThat(pairs(BookSimilarityJdbcRepository.TABLE)).containsExactly(ISBN1 + ISBN3, ISBN3 + ISBN4);
+            assertThat(pairs(BookPairStatisticsJdbcRepository.TABLE)).containsExactly(ISBN1 + ISBN3, ISBN3 + ISBN4);
+            assertThat(stepExecution.getExecutionContext().getLong(
+                    StaleSimilarityCleanupTasklet.DELETED_KEY_PREFIX + BookSimilarityJdbcRepository.TABLE)).isEqualTo(2);
+            assertThat(stepExecution.getExecutionContext().getLong(
+                    StaleSimilarityCleanupTasklet.DELETED_KEY_PREFIX + BookPairStatisticsJdbcRepository.TABLE)).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("LSH 후보 모드 Test Cases")
+    class LshMode {
+
+        @Test
+        @DisplayName("이번 실행에서 다시 기록되지 않은 쌍은 공동 평가되어 있어도 삭제된다.")
+        void deletes_pairs_not_rewritten_in_generation() {
+            Timestamp generationStart = Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+            Timestamp rewrittenAt = Timestamp.valueOf(LocalDateTime.now().plusMinutes(2));
+            new BookSimilarityJdbcRepository(jdbcTemplate).upsertAll(BookSimilarityJdbcRepository.TABLE,
+                    List.of(BookSimilarityResult.of(ISBN1, ISBN3, 0.5, 5)), rewrittenAt);
+            new BookPairStatisticsJdbcRepository(jdbcTemplate).upsertAll(List.of(statistics(ISBN1, ISBN3)), rewrittenAt);
+
+            StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(new JobParametersBuilder()
+                    .addLong(SimilarityJobParameters.TIMESTAMP, generationStart.getTime())
+                    .addString(CandidateGeneratorFactory.MODE_PARAMETER, CandidateGeneratorFactory.LSH_MODE)
+                    .toJobParameters());
+            while (execute(stepExecution) == RepeatStatus.CONTINUABLE) {
+                // 모든 페이지 처리
+            }
+
+            // ISBN3-ISBN4는 공통 평가자가 충분하지만 이번 실행에서 기록되지 않아 삭제됨
+            assertThat(pairs(BookSimilarityJdbcRepository.TABLE)).containsExactly(ISBN1 + ISBN3);
+            assertThat(pairs(BookPairStatisticsJdbcRepository.TABLE)).containsExactly(ISBN1 + ISBN3);
+        }
+    }
+
+    //== helpers ==//
+
+    private RepeatStatus execute(StepExecution stepExecution) {
+        return tasklet.execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    private List<String> pairs(String table) {
+        return jdbcTemplate.queryForList("SELECT CONCAT(isbn1, isbn2) FROM " + table + " ORDER BY isbn1, isbn2",
+                String.class);
+    }
+
+    private BookPairStatistics statistics(String isbn1, String isbn2) {
+        return BookPairStatistics.builder()
+                .isbn1(isbn1)
+                .isbn2(isbn2)
+                .dotProduct(10.0)
+                .normSquared1(12.0)
+                .normSquared2(14.0)
+                .commonUsers(3)
+                .build();
+    }
+}